@@ -0,0 +1,62 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded synthetic rosters shared by the benchmarks, so that every run and every build measures the same data.
+ */
+public final class SyntheticRoster {
+
+    private static final String[] SYLLABLES = {
+            "ra", "j", "esh", "dhi", "su", "vi", "pa", "van", "shi", "vam", "ro", "hit", "ri", "sha", "bh",
+            "an", "ki", "ta", "mo", "h\u00e9", "li", "na", "de", "ep", "ka", "ur", "to", "mi", "se", "lo"
+    };
+
+    private SyntheticRoster() {
+    }
+
+    /**
+     * @param size The number of employees, with ids 1 to size.
+     * @return A roster with two-word names, salaries between 1000 and 9999 and ages between 18 and 67.
+     */
+    public static List<Employee> employees(int size) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            employees.add(new Employee(id, randomName(random), 1000 + random.nextInt(9000), 18 + random.nextInt(50), ""));
+        }
+        return employees;
+    }
+
+    /**
+     * @param size The number of employees, with ids 1 to size.
+     * @return The roster of {@link #employees(int)} as the models of the external API.
+     */
+    public static List<EmployeeModel> models(int size) {
+        List<EmployeeModel> models = new ArrayList<>(size);
+        for (Employee employee : employees(size)) {
+            models.add(new EmployeeModel(employee.getId(), employee.getName(), employee.getSalary(), employee.getAge(),
+                    employee.getProfileImage()));
+        }
+        return models;
+    }
+
+    private static String randomName(Random random) {
+        return randomWord(random) + " " + randomWord(random);
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(2);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+}
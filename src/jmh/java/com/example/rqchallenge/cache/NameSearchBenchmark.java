@@ -0,0 +1,52 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.SyntheticRoster;
+import com.example.rqchallenge.model.Employee;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the trigram name index with the stream filter previously used by the search endpoint.
+ * <p>
+ * Run with {@code ./gradlew jmh}; the 10M roster needs the heap configured in build.gradle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameSearchBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rosterSize;
+
+    @Param({"raj", "shiv", "ra"})
+    public String searchString;
+
+    private List<Employee> employees;
+    private NameSearchIndex nameSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        employees = SyntheticRoster.employees(rosterSize);
+        nameSearchIndex = NameSearchIndex.of(RosterColumns.of(employees));
+    }
+
+    @Benchmark
+    public List<Employee> streamFilter() {
+        return employees.stream()
+                .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> trigramIndex() {
+        // the index answers with a lazy view over the columns, so materialize it like a response would
+        return new ArrayList<>(nameSearchIndex.search(searchString));
+    }
+}
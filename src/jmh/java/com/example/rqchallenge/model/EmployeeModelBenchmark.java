@@ -0,0 +1,62 @@
+package com.example.rqchallenge.model;
+
+import com.example.rqchallenge.SyntheticRoster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the conversion of external API models to employees and the JSON serialization and
+ * deserialization of a full {@link EmployeeListResponse}.
+ * <p>
+ * Each operation is reported both as throughput and as average latency. The largest roster is 1M
+ * employees: the body of a 10M roster is over a gigabyte, which no client of the external API sends.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=EmployeeModelBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeModelBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private EmployeeListResponse listResponse;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // configured like the mapper of the RestTemplate converters, which ignores unknown fields
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listResponse = new EmployeeListResponse();
+        listResponse.setStatus("success");
+        listResponse.setData(SyntheticRoster.models(rosterSize));
+        body = objectMapper.writeValueAsBytes(listResponse);
+    }
+
+    @Benchmark
+    public List<Employee> convertEmployeeModelToEmployee() {
+        return listResponse.getData().stream()
+                .map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializeListResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(listResponse);
+    }
+
+    @Benchmark
+    public EmployeeListResponse deserializeListResponse() throws IOException {
+        return objectMapper.readValue(body, EmployeeListResponse.class);
+    }
+}
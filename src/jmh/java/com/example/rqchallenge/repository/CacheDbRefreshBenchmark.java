@@ -0,0 +1,75 @@
+package com.example.rqchallenge.repository;
+
+import com.example.rqchallenge.RqChallengeApplication;
+import com.example.rqchallenge.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one roster refresh written to the H2 file database, comparing JPA {@code saveAll} with the
+ * batched JDBC {@code upsertAll}.
+ * <p>
+ * The table already holds the roster when each refresh is measured, as it does in steady state, and
+ * every refresh carries new salaries so that both paths have to write each row. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=CacheDbRefreshBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CacheDbRefreshBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rosterSize;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private List<Employee> employees;
+    private int refreshCount;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(RqChallengeApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:file:./build/jmh-h2/cache-db-refresh",
+                        "employee.roster.refresh-on-startup=false",
+                        "logging.level.com.example.rqchallenge=WARN")
+                .run();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        nextRoster();
+        employeeRepository.upsertAll(employees);
+    }
+
+    @Setup(Level.Invocation)
+    public void nextRoster() {
+        Random random = new Random(refreshCount++);
+        employees = new ArrayList<>(rosterSize);
+        for (int id = 1; id <= rosterSize; id++) {
+            employees.add(new Employee(id, "Employee " + id, 1000 + random.nextInt(9000), 18 + random.nextInt(50), ""));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveAll() {
+        employeeRepository.saveAll(employees);
+    }
+
+    @Benchmark
+    public int upsertAll() {
+        return employeeRepository.upsertAll(employees);
+    }
+}
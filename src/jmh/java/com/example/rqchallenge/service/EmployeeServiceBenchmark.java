@@ -0,0 +1,65 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.SyntheticRoster;
+import com.example.rqchallenge.cache.RosterSnapshot;
+import com.example.rqchallenge.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the read operations of {@link EmployeeService} against a roster snapshot, as the controllers call them.
+ * <p>
+ * Each operation is reported both as throughput and as average latency. The snapshot, its name index and
+ * its salary index are built once per trial, as a roster refresh does, so only the per-request work is
+ * measured. Run with {@code ./gradlew jmh -Pjmh.includes=EmployeeServiceBenchmark}; the 10M roster needs
+ * the heap configured in build.gradle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rosterSize;
+
+    @Param({"raj"})
+    public String searchString;
+
+    private EmployeeService employeeService;
+    private RosterSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // keep the per-request log lines of the service out of the benchmark output
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel("com.example.rqchallenge", LogLevel.WARN);
+        // the snapshot overloads never reach the helper, so none is needed
+        employeeService = new EmployeeService(null);
+        snapshot = new RosterSnapshot(1L, SyntheticRoster.employees(rosterSize), Instant.now(), 0.01, 10);
+        snapshot.getNameSearchIndex();
+    }
+
+    @Benchmark
+    public List<Employee> filterEmpNameFromSearchString() {
+        // the search answers with a lazy view over the roster columns, so materialize it like a response would
+        return new ArrayList<>(employeeService.filterEmpNameFromSearchString(snapshot, searchString));
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames(snapshot);
+    }
+
+    @Benchmark
+    public Integer getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees(snapshot);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.rqchallenge.upstream;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeListResponse;
+import com.example.rqchallenge.model.EmployeeModel;
+import com.example.rqchallenge.model.EmployeeRosterResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares reading the upstream employee list through the models and their conversion with the
+ * streaming roster converter.
+ * <p>
+ * Both paths read the same in-memory body through their {@code HttpMessageConverter}, so the
+ * difference is parsing and object churn only. Run with {@code ./gradlew jmh} and the gc profiler
+ * ({@code -prof gc}) to compare {@code gc.alloc.rate.norm}, the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeRosterParseBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private byte[] body;
+    private MappingJackson2HttpMessageConverter modelConverter;
+    private EmployeeRosterMessageConverter rosterConverter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"status\":\"success\",\"data\":[");
+        for (int id = 1; id <= rosterSize; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                    .append(",\"employee_name\":\"Employee ").append(Integer.toString(random.nextInt(1 << 30), 36))
+                    .append("\",\"employee_salary\":").append(1000 + random.nextInt(900000))
+                    .append(",\"employee_age\":").append(18 + random.nextInt(50))
+                    .append(",\"profile_image\":\"\"}");
+        }
+        json.append("],\"message\":\"Successfully! All records has been fetched.\"}");
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+        // configured like the mapper of the RestTemplate converters, which ignores unknown fields
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        modelConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        rosterConverter = new EmployeeRosterMessageConverter(objectMapper.getFactory());
+    }
+
+    @Benchmark
+    public List<Employee> modelsThenConvert() throws IOException {
+        EmployeeListResponse response = (EmployeeListResponse) modelConverter.read(EmployeeListResponse.class, message());
+        return response.getData().stream()
+                .map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Employee> streamingConverter() throws IOException {
+        EmployeeRosterResponse response = rosterConverter.read(EmployeeRosterResponse.class, message());
+        return response.getData();
+    }
+
+    private HttpInputMessage message() {
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                return headers;
+            }
+        };
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.rqchallenge.loadtest;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-model load generator for the employee API: requests are started at a fixed arrival rate,
+ * whether or not earlier ones have completed.
+ * <p>
+ * Latency is measured from the time a request was due to start, not from when it was sent, so a
+ * stalled server shows up in the percentiles instead of silently lowering the offered load. Requests
+ * due during the warm-up are sent but not recorded.
+ */
+@Slf4j
+public class LoadDriver {
+
+    private final String baseUrl;
+    private final double ratePerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final List<Route> routes;
+    private final int totalWeight;
+    private final HttpClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "load-driver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param baseUrl       The base URL of the application, ending with a slash.
+     * @param ratePerSecond The number of requests started per second.
+     * @param warmup        How long requests are sent before they are recorded.
+     * @param duration      How long requests are recorded.
+     * @param mix           The relative weight of each route name, see {@link #ROUTE_NAMES}.
+     * @param idRange       The ids used for get by id and delete are drawn from 1 to this value.
+     */
+    public LoadDriver(String baseUrl, double ratePerSecond, Duration warmup, Duration duration, Map<String, Integer> mix,
+                      int idRange) {
+        this.baseUrl = baseUrl;
+        this.ratePerSecond = ratePerSecond;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.routes = new ArrayList<>();
+        int weights = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                routes.add(new Route(entry.getKey(), entry.getValue(), requestFactory(entry.getKey(), idRange)));
+                weights += entry.getValue();
+            }
+        }
+        if (weights == 0) {
+            throw new IllegalArgumentException("The route mix must give at least one route a positive weight");
+        }
+        this.totalWeight = weights;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * The routes of {@code IEmployeeController} the driver can call.
+     */
+    public static final List<String> ROUTE_NAMES = Arrays.asList(
+            "all", "search", "byId", "highestSalary", "topTen", "create", "delete");
+
+    /**
+     * Sends the load and waits for the recorded requests to complete.
+     *
+     * @return The throughput and latency percentiles per route and overall.
+     */
+    public Report run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        List<CompletableFuture<?>> recorded = new ArrayList<>();
+        for (long sequence = 0; ; sequence++) {
+            long due = start + sequence * intervalNanos;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Route route = pick();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<HttpResponse<Void>> response = client.sendAsync(route.requests.apply(0),
+                    HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((completed, error) -> inFlight.decrementAndGet());
+            if (due >= measureFrom) {
+                recorded.add(response.handle((completed, error) -> {
+                    route.record(System.nanoTime() - due, completed == null ? -1 : completed.statusCode());
+                    return null;
+                }));
+            }
+        }
+        try {
+            CompletableFuture.allOf(recorded.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Not every recorded request completed within 30s after the run");
+        }
+        executor.shutdownNow();
+        return new Report(routes, duration, peakInFlight.get());
+    }
+
+    private Route pick() {
+        int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Route route : routes) {
+            draw -= route.weight;
+            if (draw < 0) {
+                return route;
+            }
+        }
+        return routes.get(routes.size() - 1);
+    }
+
+    private IntFunction<HttpRequest> requestFactory(String routeName, int idRange) {
+        switch (routeName) {
+            case "all":
+                return ignored -> get("");
+            case "search":
+                return ignored -> get("search/" + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36));
+            case "byId":
+                return ignored -> get(String.valueOf(1 + ThreadLocalRandom.current().nextInt(idRange)));
+            case "highestSalary":
+                return ignored -> get("highestSalary");
+            case "topTen":
+                return ignored -> get("topTenHighestEarningEmployeeNames");
+            case "create":
+                return ignored -> HttpRequest.newBuilder(URI.create(baseUrl))
+                        .timeout(Duration.ofSeconds(10))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Load Test\",\"salary\":\""
+                                + (1000 + ThreadLocalRandom.current().nextInt(9000)) + "\",\"age\":\"30\"}"))
+                        .build();
+            case "delete":
+                return ignored -> HttpRequest.newBuilder(URI.create(baseUrl + (1 + ThreadLocalRandom.current().nextInt(idRange))))
+                        .timeout(Duration.ofSeconds(10))
+                        .DELETE()
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown route " + routeName + ", expected one of " + ROUTE_NAMES);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(10)).GET().build();
+    }
+
+    private static final class Route {
+
+        final String name;
+        final int weight;
+        final IntFunction<HttpRequest> requests;
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        Route(String name, int weight, IntFunction<HttpRequest> requests) {
+            this.name = name;
+            this.weight = weight;
+            this.requests = requests;
+        }
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            statuses.merge(status < 0 ? "error" : String.valueOf(status), 1, Integer::sum);
+        }
+
+        synchronized long[] latencies() {
+            return Arrays.copyOf(latencies, count);
+        }
+
+        synchronized Map<String, Integer> statuses() {
+            return new TreeMap<>(statuses);
+        }
+    }
+
+    /**
+     * Throughput, latency percentiles and response statuses of a run.
+     */
+    @Getter
+    public static final class Report {
+
+        private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+        private final Map<String, RouteReport> routes = new LinkedHashMap<>();
+        private final RouteReport total;
+        private final int peakInFlight;
+
+        Report(List<Route> measured, Duration duration, int peakInFlight) {
+            this.peakInFlight = peakInFlight;
+            List<long[]> all = new ArrayList<>();
+            Map<String, Integer> allStatuses = new TreeMap<>();
+            for (Route route : measured) {
+                long[] latencies = route.latencies();
+                all.add(latencies);
+                route.statuses().forEach((status, count) -> allStatuses.merge(status, count, Integer::sum));
+                routes.put(route.name, new RouteReport(latencies, route.statuses(), duration));
+            }
+            long[] merged = all.stream().flatMapToLong(Arrays::stream).toArray();
+            total = new RouteReport(merged, allStatuses, duration);
+        }
+
+        /**
+         * @return The report as a plain text table.
+         */
+        public String toTable() {
+            StringBuilder table = new StringBuilder(String.format("%-15s %8s %10s %9s %9s %9s %9s %9s  %s%n",
+                    "route", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses"));
+            routes.forEach((name, report) -> table.append(report.toRow(name)));
+            table.append(total.toRow("total"));
+            table.append(String.format("peak requests in flight: %d%n", peakInFlight));
+            return table.toString();
+        }
+    }
+
+    @Getter
+    public static final class RouteReport {
+
+        private final int requests;
+        private final double throughput;
+        private final Map<String, Double> latencyMillis = new LinkedHashMap<>();
+        private final Map<String, Integer> statuses;
+
+        RouteReport(long[] latencies, Map<String, Integer> statuses, Duration duration) {
+            Arrays.sort(latencies);
+            this.requests = latencies.length;
+            this.throughput = latencies.length / (duration.toMillis() / 1000.0);
+            this.statuses = statuses;
+            for (double percentile : Report.PERCENTILES) {
+                latencyMillis.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                        : String.valueOf(percentile)), millis(latencies, percentile));
+            }
+            latencyMillis.put("max", latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6);
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))] / 1e6;
+        }
+
+        String toRow(String name) {
+            return String.format("%-15s %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", name, requests, throughput,
+                    latencyMillis.get("p50"), latencyMillis.get("p90"), latencyMillis.get("p99"),
+                    latencyMillis.get("p99.9"), latencyMillis.get("max"), statuses);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.rqchallenge.loadtest;
+
+import com.example.rqchallenge.RqChallengeApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the application against an embedded {@link UpstreamStub} and drives it with a {@link LoadDriver},
+ * printing the throughput and latency percentiles per route.
+ * <p>
+ * Run with {@code ./gradlew loadTest}. The load is set with {@code loadtest.rate} (requests per second),
+ * {@code loadtest.warmup}, {@code loadtest.duration} and {@code loadtest.mix}, a list of
+ * {@code route:weight} pairs; the stub with the {@code stub.*} properties of
+ * {@link UpstreamStub.Settings}. Any {@code employee.*} or {@code server.*} property overrides the
+ * application configuration, for example the upstream rate limits or {@code employee.virtual-threads.enabled}.
+ * Besides the latency per route, the report holds the peak number of requests in flight, and the peak
+ * thread count and memory use of the JVM.
+ */
+@Slf4j
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "all:5,search:25,byId:30,highestSalary:15,topTen:15,create:5,delete:5";
+
+    public static void main(String[] args) throws Exception {
+        UpstreamStub.Settings settings = UpstreamStub.Settings.fromSystemProperties();
+        try (UpstreamStub stub = new UpstreamStub(settings)) {
+            stub.start();
+            // as command line arguments, so that they take precedence over application.properties
+            List<String> arguments = new ArrayList<>(Arrays.asList(
+                    "--server.port=0",
+                    "--employee.upstream.base-url=" + stub.getBaseUrl(),
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1"));
+            arguments.addAll(Arrays.asList(args));
+            ConfigurableApplicationContext application = new SpringApplicationBuilder(RqChallengeApplication.class)
+                    .run(arguments.toArray(new String[0]));
+            try {
+                String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port") + "/";
+                double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+                Duration warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "10s"));
+                Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+                Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+                log.info("Offering {} req/s for {} after a {} warm-up, mix {}, stub {}", rate, duration, warmup, mix, settings);
+                log.info("Serving requests on {} threads, Java {}", application.getEnvironment()
+                        .getProperty("employee.virtual-threads.enabled", Boolean.class, false) ? "virtual" : "platform",
+                        System.getProperty("java.version"));
+                ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+                ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+                LoadDriver.Report report = new LoadDriver(baseUrl, rate, warmup, duration, mix, settings.rosterSize).run();
+                System.out.println(report.toTable());
+                System.out.println(jvmUsage());
+            } finally {
+                application.close();
+            }
+        }
+    }
+
+    /**
+     * The peak thread count and heap use of the JVM, which runs the stub and the driver next to the
+     * application, and its peak resident memory, which includes the thread stacks.
+     */
+    private static String jvmUsage() throws IOException {
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        String peakResident = "n/a";
+        Path status = Paths.get("/proc/self/status");
+        if (Files.exists(status)) {
+            peakResident = Files.readAllLines(status).stream()
+                    .filter(line -> line.startsWith("VmHWM:"))
+                    .map(line -> line.substring("VmHWM:".length()).trim())
+                    .findFirst()
+                    .orElse(peakResident);
+        }
+        return String.format("peak live threads: %d, peak heap used: %d MB, peak resident memory: %s",
+                ManagementFactory.getThreadMXBean().getPeakThreadCount(), peakHeap >> 20, peakResident);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] routeAndWeight = entry.trim().split(":");
+            weights.put(routeAndWeight[0], Integer.valueOf(routeAndWeight[1]));
+        }
+        return weights;
+    }
+}
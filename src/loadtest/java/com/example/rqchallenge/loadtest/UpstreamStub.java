@@ -0,0 +1,231 @@
+package com.example.rqchallenge.loadtest;
+
+import com.example.rqchallenge.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded stand-in for the external employee API, serving the list, get by id, create and delete
+ * contracts from an in-memory roster.
+ * <p>
+ * Every response is delayed by a log-normal latency given by its median and 99th percentile, which
+ * matches the long right tail of real network calls. The delay holds no thread, so thousands of slow
+ * requests can be in flight at once. A configurable share of the requests is answered
+ * with a 500, and another share with a 429 carrying a {@code Retry-After} header, before any roster
+ * work is done.
+ */
+@Slf4j
+public class UpstreamStub implements AutoCloseable {
+
+    private static final double Z_99 = 2.326;
+
+    private final Settings settings;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Map<Integer, EmployeeModel> roster = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "upstream-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "upstream-stub-responder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpServer server;
+
+    public UpstreamStub(Settings settings) throws IOException {
+        this.settings = settings;
+        Random random = new Random(42);
+        for (int id = 1; id <= settings.rosterSize; id++) {
+            roster.put(id, new EmployeeModel(id, "Employee " + Integer.toString(random.nextInt(1 << 30), 36),
+                    1000 + random.nextInt(900000), 18 + random.nextInt(50), ""));
+        }
+        nextId.set(settings.rosterSize);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employees", exchange -> handle(exchange, "GET", this::list));
+        server.createContext("/api/v1/employee/", exchange -> handle(exchange, "GET", this::getById));
+        server.createContext("/api/v1/create", exchange -> handle(exchange, "POST", this::create));
+        server.createContext("/api/v1/delete/", exchange -> handle(exchange, "DELETE", this::delete));
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Upstream stub serving {} employees on {}", settings.rosterSize, getBaseUrl());
+    }
+
+    /**
+     * @return The base URL to configure as {@code employee.upstream.base-url}.
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        responder.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, String method, Route route) {
+        // the latency is a scheduled delay rather than a sleep, so that slow responses do not hold a thread each
+        responder.schedule(() -> respond(exchange, method, route), latencyMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange, String method, Route route) {
+        try {
+            if (!exchange.getRequestMethod().equals(method)) {
+                respond(exchange, HttpStatus.METHOD_NOT_ALLOWED, null);
+                return;
+            }
+            double draw = ThreadLocalRandom.current().nextDouble();
+            if (draw < settings.errorRate) {
+                respond(exchange, HttpStatus.INTERNAL_SERVER_ERROR, null);
+            } else if (draw < settings.errorRate + settings.throttleRate) {
+                exchange.getResponseHeaders().add(HttpHeaders.RETRY_AFTER, "1");
+                respond(exchange, HttpStatus.TOO_MANY_REQUESTS, null);
+            } else {
+                route.handle(exchange);
+            }
+        } catch (RuntimeException e) {
+            log.error("Upstream stub failed to answer {}", exchange.getRequestURI(), e);
+            try {
+                respond(exchange, HttpStatus.INTERNAL_SERVER_ERROR, null);
+            } catch (IOException | RuntimeException ignored) {
+                // the response was already under way, closing the exchange aborts it
+            }
+        } catch (IOException e) {
+            log.warn("Upstream stub could not write the response to {}: {}", exchange.getRequestURI(), e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        EmployeeListResponse response = new EmployeeListResponse();
+        response.setStatus("success");
+        response.setData(new ArrayList<>(roster.values()));
+        respond(exchange, HttpStatus.OK, response);
+    }
+
+    private void getById(HttpExchange exchange) throws IOException {
+        EmployeeModel employee = roster.get(idOf(exchange, "/api/v1/employee/"));
+        if (employee == null) {
+            respond(exchange, HttpStatus.NOT_FOUND, null);
+            return;
+        }
+        EmployeeResponse response = new EmployeeResponse();
+        response.setStatus("success");
+        response.setData(employee);
+        respond(exchange, HttpStatus.OK, response);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void create(HttpExchange exchange) throws IOException {
+        Map<String, Object> input = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+        int id = nextId.incrementAndGet();
+        Employee employee = new Employee(id, String.valueOf(input.get("name")), Integer.valueOf(String.valueOf(input.get("salary"))),
+                Integer.valueOf(String.valueOf(input.get("age"))), "");
+        roster.put(id, new EmployeeModel(id, employee.getName(), employee.getSalary(), employee.getAge(), ""));
+        EmployeeCreateResponse response = new EmployeeCreateResponse();
+        response.setStatus("success");
+        response.setData(employee);
+        response.setMessage("Successfully! Record has been added.");
+        respond(exchange, HttpStatus.OK, response);
+    }
+
+    private void delete(HttpExchange exchange) throws IOException {
+        int id = idOf(exchange, "/api/v1/delete/");
+        EmployeeDeleteResponse response = new EmployeeDeleteResponse();
+        response.setStatus(roster.remove(id) != null ? "success" : "failed");
+        response.setMessage("Successfully! Record has been deleted");
+        respond(exchange, HttpStatus.OK, response);
+    }
+
+    private void respond(HttpExchange exchange, HttpStatus status, Object body) throws IOException {
+        byte[] bytes = body == null ? new byte[0] : objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(status.value(), bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static int idOf(HttpExchange exchange, String prefix) {
+        return Integer.parseInt(exchange.getRequestURI().getPath().substring(prefix.length()));
+    }
+
+    private long latencyMillis() {
+        if (settings.latencyMedianMillis <= 0) {
+            return 0;
+        }
+        double sigma = Math.log(Math.max(settings.latencyP99Millis, settings.latencyMedianMillis)
+                / (double) settings.latencyMedianMillis) / Z_99;
+        return Math.round(settings.latencyMedianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    private interface Route {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Behaviour of the stub, read from {@code stub.*} system properties.
+     */
+    public static final class Settings {
+
+        final int rosterSize;
+        final long latencyMedianMillis;
+        final long latencyP99Millis;
+        final double errorRate;
+        final double throttleRate;
+
+        Settings(int rosterSize, long latencyMedianMillis, long latencyP99Millis, double errorRate, double throttleRate) {
+            this.rosterSize = rosterSize;
+            this.latencyMedianMillis = latencyMedianMillis;
+            this.latencyP99Millis = latencyP99Millis;
+            this.errorRate = errorRate;
+            this.throttleRate = throttleRate;
+        }
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("stub.roster-size", 10000),
+                    Long.getLong("stub.latency-median-ms", 20),
+                    Long.getLong("stub.latency-p99-ms", 200),
+                    Double.parseDouble(System.getProperty("stub.error-rate", "0.01")),
+                    Double.parseDouble(System.getProperty("stub.throttle-rate", "0.02")));
+        }
+
+        @Override
+        public String toString() {
+            return "roster-size=" + rosterSize + ", latency-median-ms=" + latencyMedianMillis + ", latency-p99-ms="
+                    + latencyP99Millis + ", error-rate=" + errorRate + ", throttle-rate=" + throttleRate;
+        }
+    }
+}
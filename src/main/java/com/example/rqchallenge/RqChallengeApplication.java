@@ -1,9 +1,15 @@
 package com.example.rqchallenge;
 
+import com.example.rqchallenge.upstream.EmployeeRosterMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
@@ -14,7 +20,21 @@ public class RqChallengeApplication {
     }
 
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate restTemplate(ObjectProvider<RestTemplateBuilder> builder,
+                                     HttpComponentsClientHttpRequestFactory upstreamRequestFactory,
+                                     ObjectMapper objectMapper) {
+        // the builder is not auto-configured when running the reactive stack
+        RestTemplate restTemplate = builder.getIfAvailable(RestTemplateBuilder::new)
+                .requestFactory(() -> upstreamRequestFactory)
+                .build();
+        // ahead of the generic Jackson converter, which would otherwise claim the employee list response
+        restTemplate.getMessageConverters().add(0, new EmployeeRosterMessageConverter(objectMapper.getFactory()));
+        return restTemplate;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
     }
 }
@@ -0,0 +1,436 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.config.CacheDbProperties;
+import com.example.rqchallenge.config.CacheDbProperties.OverflowPolicy;
+import com.example.rqchallenge.config.CacheDbProperties.WriteMode;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies mutations of the cache database, either directly or through a background writer.
+ * <p>
+ * In the default write-through mode every call writes to H2 in the calling thread. In write-behind
+ * mode calls only record the mutation in a bounded queue keyed by employee id, so a later mutation of
+ * the same employee replaces the queued one, and a single writer thread applies the queue in batches:
+ * saves through the JDBC upsert, deletes through one batched delete. A full roster is queued as a
+ * single entry that replaces any roster still waiting. Mutations that do not fit into a full queue
+ * are handled according to {@link OverflowPolicy}.
+ * <p>
+ * The cache database only backs the upstream fallback, so in write-behind mode that fallback may
+ * briefly miss the most recent mutations.
+ */
+@Component
+@Slf4j
+public class CacheDbWriter {
+
+    EmployeeRepository employeeRepository;
+
+    CacheDbProperties cacheDbProperties;
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition mutationQueued = queueLock.newCondition();
+    // held by whoever writes to H2 in write-behind mode, so that a caller-runs write never races an older batch
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private final Map<Integer, PendingMutation> pendingById = new LinkedHashMap<>();
+    private PendingRoster pendingRoster;
+    private long inFlightSince;
+    private long sequence;
+    private boolean running;
+    private Thread writerThread;
+
+    private final Counter coalescedCounter;
+    private final Counter droppedCounter;
+    private final Counter callerRunsCounter;
+    private final Counter failureCounter;
+
+    @Autowired
+    public CacheDbWriter(EmployeeRepository employeeRepository, CacheDbProperties cacheDbProperties,
+                         MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.cacheDbProperties = cacheDbProperties;
+        this.coalescedCounter = meterRegistry.counter("employee.cache-db.write-behind.coalesced");
+        this.droppedCounter = meterRegistry.counter("employee.cache-db.write-behind.dropped");
+        this.callerRunsCounter = meterRegistry.counter("employee.cache-db.write-behind.caller-runs");
+        this.failureCounter = meterRegistry.counter("employee.cache-db.write-behind.failures");
+        Gauge.builder("employee.cache-db.write-behind.queue.depth", this, CacheDbWriter::getQueueDepth)
+                .description("Queued cache db mutations, a roster refresh counting as one")
+                .register(meterRegistry);
+        TimeGauge.builder("employee.cache-db.write-behind.lag", this, TimeUnit.MILLISECONDS, CacheDbWriter::getLagMillis)
+                .description("Age of the oldest cache db mutation not yet applied")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates a write-through writer.
+     */
+    public CacheDbWriter(EmployeeRepository employeeRepository) {
+        this(employeeRepository, new CacheDbProperties(), new SimpleMeterRegistry());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (cacheDbProperties.getWriteMode() != WriteMode.WRITE_BEHIND) {
+            return;
+        }
+        queueLock.lock();
+        try {
+            running = true;
+        } finally {
+            queueLock.unlock();
+        }
+        writerThread = new Thread(this::runWriter, "cache-db-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Cache db write-behind enabled with a queue capacity of {}", cacheDbProperties.getQueueCapacity());
+    }
+
+    /**
+     * Stops accepting queued mutations and waits for the writer to apply the ones already queued.
+     */
+    @PreDestroy
+    public void stop() {
+        if (writerThread == null) {
+            return;
+        }
+        queueLock.lock();
+        try {
+            running = false;
+            mutationQueued.signalAll();
+        } finally {
+            queueLock.unlock();
+        }
+        try {
+            writerThread.join(cacheDbProperties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Cache db writer did not drain within {}, {} mutations are lost",
+                    cacheDbProperties.getShutdownTimeout(), getQueueDepth());
+        }
+    }
+
+    /**
+     * Saves a single employee into the cache database.
+     *
+     * @param employee The employee to save.
+     */
+    public void save(Employee employee) {
+        if (!enqueue(employee.getId(), employee)) {
+            runInCaller(() -> employeeRepository.save(employee));
+        }
+    }
+
+    /**
+     * Saves a full roster into the cache database.
+     *
+     * @param employees The employees of the roster.
+     */
+    public void saveAll(List<Employee> employees) {
+        if (!enqueueRoster(employees)) {
+            runInCaller(() -> employeeRepository.upsertAll(employees));
+        }
+    }
+
+    /**
+     * Saves a batch of employees into the cache database, leaving the rest of the roster as it is. The
+     * employees that cannot be queued are written by the caller in a single batch upsert.
+     *
+     * @param employees The employees to save.
+     */
+    public void saveBatch(List<Employee> employees) {
+        List<Employee> notQueued = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (!enqueue(employee.getId(), employee)) {
+                notQueued.add(employee);
+            }
+        }
+        if (!notQueued.isEmpty()) {
+            runInCaller(() -> employeeRepository.upsertAll(notQueued));
+        }
+    }
+
+    /**
+     * Deletes an employee from the cache database.
+     *
+     * @param id The id of the employee to delete.
+     */
+    public void delete(Integer id) {
+        if (!enqueue(id, null)) {
+            runInCaller(() -> deleteNow(id));
+        }
+    }
+
+    /**
+     * Deletes a batch of employees from the cache database. The ids that cannot be queued are deleted by
+     * the caller with a single batched statement, without reading the employees first.
+     *
+     * @param ids The ids of the employees to delete.
+     */
+    public void deleteBatch(List<Integer> ids) {
+        List<Integer> notQueued = new ArrayList<>();
+        for (Integer id : ids) {
+            if (!enqueue(id, null)) {
+                notQueued.add(id);
+            }
+        }
+        if (!notQueued.isEmpty()) {
+            runInCaller(() -> employeeRepository.deleteAllByIdInBatch(notQueued));
+        }
+    }
+
+    /**
+     * @return The number of queued mutations, a roster refresh counting as one.
+     */
+    public int getQueueDepth() {
+        queueLock.lock();
+        try {
+            return pendingById.size() + (pendingRoster == null ? 0 : 1);
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * @return How long the oldest mutation that has not been applied yet has been waiting, in milliseconds.
+     */
+    public double getLagMillis() {
+        queueLock.lock();
+        try {
+            long oldest = inFlightSince;
+            if (!pendingById.isEmpty()) {
+                oldest = earliest(oldest, pendingById.values().iterator().next().enqueuedAt);
+            }
+            if (pendingRoster != null) {
+                oldest = earliest(oldest, pendingRoster.enqueuedAt);
+            }
+            return oldest == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private boolean enqueue(Integer id, Employee employee) {
+        queueLock.lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            PendingMutation queued = pendingById.get(id);
+            if (queued != null) {
+                // keeps its position in the queue, and with it the time the employee started waiting
+                pendingById.put(id, new PendingMutation(id, employee, ++sequence, queued.enqueuedAt));
+                coalescedCounter.increment();
+                return true;
+            }
+            if (pendingById.size() >= cacheDbProperties.getQueueCapacity()) {
+                if (cacheDbProperties.getOverflowPolicy() == OverflowPolicy.DROP) {
+                    log.warn("Cache db write-behind queue is full, dropping the mutation for id {}", id);
+                    droppedCounter.increment();
+                    return true;
+                }
+                callerRunsCounter.increment();
+                return false;
+            }
+            pendingById.put(id, new PendingMutation(id, employee, ++sequence, System.nanoTime()));
+            mutationQueued.signal();
+            return true;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private boolean enqueueRoster(List<Employee> employees) {
+        queueLock.lock();
+        try {
+            if (!running) {
+                return false;
+            }
+            long enqueuedAt = System.nanoTime();
+            if (pendingRoster != null) {
+                enqueuedAt = pendingRoster.enqueuedAt;
+                coalescedCounter.increment();
+            }
+            pendingRoster = new PendingRoster(employees, ++sequence, enqueuedAt);
+            mutationQueued.signal();
+            return true;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private void runInCaller(Runnable write) {
+        if (writerThread == null) {
+            write.run();
+            return;
+        }
+        applyLock.lock();
+        try {
+            write.run();
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            queueLock.lock();
+            try {
+                while (pendingById.isEmpty() && pendingRoster == null) {
+                    if (!running) {
+                        return;
+                    }
+                    mutationQueued.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                queueLock.unlock();
+            }
+            applyQueued();
+        }
+    }
+
+    private void applyQueued() {
+        applyLock.lock();
+        try {
+            List<PendingMutation> mutations;
+            PendingRoster roster;
+            queueLock.lock();
+            try {
+                mutations = new ArrayList<>(pendingById.values());
+                roster = pendingRoster;
+                inFlightSince = mutations.isEmpty() ? 0 : mutations.get(0).enqueuedAt;
+                if (roster != null) {
+                    inFlightSince = earliest(inFlightSince, roster.enqueuedAt);
+                }
+                pendingById.clear();
+                pendingRoster = null;
+            } finally {
+                queueLock.unlock();
+            }
+            // mutations queued before the roster are older than it and must not overwrite it
+            long rosterSequence = roster == null ? Long.MAX_VALUE : roster.sequence;
+            List<PendingMutation> beforeRoster = new ArrayList<>();
+            List<PendingMutation> afterRoster = new ArrayList<>();
+            for (PendingMutation mutation : mutations) {
+                (mutation.sequence < rosterSequence ? beforeRoster : afterRoster).add(mutation);
+            }
+            applyMutations(beforeRoster);
+            if (roster != null) {
+                applyRoster(roster);
+            }
+            applyMutations(afterRoster);
+        } finally {
+            queueLock.lock();
+            try {
+                inFlightSince = 0;
+            } finally {
+                queueLock.unlock();
+            }
+            applyLock.unlock();
+        }
+    }
+
+    private void applyMutations(List<PendingMutation> mutations) {
+        if (mutations.isEmpty()) {
+            return;
+        }
+        List<Employee> saves = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        for (PendingMutation mutation : mutations) {
+            if (mutation.employee == null) {
+                deletes.add(mutation.id);
+            } else {
+                saves.add(mutation.employee);
+            }
+        }
+        try {
+            if (!saves.isEmpty()) {
+                employeeRepository.upsertAll(saves);
+            }
+            if (!deletes.isEmpty()) {
+                employeeRepository.deleteAllByIdInBatch(deletes);
+            }
+            log.debug("Applied {} saves and {} deletes to the cache db", saves.size(), deletes.size());
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.error("Error occurred while applying {} queued mutations to the cache db", mutations.size(), e);
+        }
+    }
+
+    private void applyRoster(PendingRoster roster) {
+        try {
+            employeeRepository.upsertAll(roster.employees);
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.error("Error occurred while applying the queued roster to the cache db", e);
+        }
+    }
+
+    private void deleteNow(Integer id) {
+        log.info("Retrieving employee details for employee Id {} from in-cache db", id);
+        Optional<Employee> employeeOptional = employeeRepository.findById(id);
+        if(employeeOptional.isPresent()) {
+            employeeRepository.delete(employeeOptional.get());
+        } else {
+            log.info("Data not found in-memory cache for id {}",id);
+        }
+    }
+
+    private static long earliest(long first, long second) {
+        if (first == 0) {
+            return second;
+        }
+        return second - first < 0 ? second : first;
+    }
+
+    private static final class PendingMutation {
+
+        final Integer id;
+        // null for a delete
+        final Employee employee;
+        final long sequence;
+        final long enqueuedAt;
+
+        PendingMutation(Integer id, Employee employee, long sequence, long enqueuedAt) {
+            this.id = id;
+            this.employee = employee;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class PendingRoster {
+
+        final List<Employee> employees;
+        final long sequence;
+        final long enqueuedAt;
+
+        PendingRoster(List<Employee> employees, long sequence, long enqueuedAt) {
+            this.employees = employees;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Content digest of employee records.
+ * <p>
+ * The digest covers every field of every employee in the given order, so two lists with the same
+ * digest serialize to the same JSON and the digest can back a strong entity tag.
+ */
+public final class EmployeeDigest {
+
+    private EmployeeDigest() {
+    }
+
+    /**
+     * @param employee The employee to digest.
+     * @return The digest of the single employee.
+     */
+    public static String of(Employee employee) {
+        return of(Collections.singletonList(employee));
+    }
+
+    /**
+     * @param employees The employees to digest, in order.
+     * @return The first 128 bits of the SHA-256 over all employee fields, in hex.
+     */
+    public static String of(List<Employee> employees) {
+        MessageDigest sha256 = sha256();
+        StringBuilder fields = new StringBuilder();
+        for (Employee employee : employees) {
+            fields.setLength(0);
+            // unit and record separators keep field boundaries unambiguous, they never occur in names
+            fields.append(employee.getId()).append('\u001f')
+                    .append(employee.getName()).append('\u001f')
+                    .append(employee.getSalary()).append('\u001f')
+                    .append(employee.getAge()).append('\u001f')
+                    .append(employee.getProfileImage()).append('\u001e');
+            sha256.update(fields.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return truncatedHex(sha256.digest());
+    }
+
+    /**
+     * @param key The text to digest, such as a query or a request key.
+     * @return The first 128 bits of the SHA-256 over the UTF-8 bytes of the key, in hex.
+     */
+    public static String ofKey(String key) {
+        return truncatedHex(sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @return The first 128 bits of the hash, in hex.
+     */
+    static String truncatedHex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(32);
+        for (int i = 0; i < 16; i++) {
+            hex.append(Character.forDigit((hash[i] >> 4) & 0xf, 16)).append(Character.forDigit(hash[i] & 0xf, 16));
+        }
+        return hex.toString();
+    }
+}
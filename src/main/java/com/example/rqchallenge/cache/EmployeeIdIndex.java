@@ -0,0 +1,77 @@
+package com.example.rqchallenge.cache;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash index from employee id to roster position.
+ * <p>
+ * Ids and positions are held in two parallel {@code int} arrays probed linearly, so a lookup neither
+ * boxes the id nor follows a pointer per entry. The table is a power of two at least twice the roster
+ * size, which keeps probe sequences short. Employees without an id are not indexed; of several employees
+ * with the same id the first one is, as with {@link RosterColumns#positionOf(Integer)}.
+ * <p>
+ * The index is immutable and belongs to a single roster snapshot.
+ */
+public class EmployeeIdIndex {
+
+    private static final int FREE = -1;
+
+    private final int[] ids;
+    private final int[] positions;
+    private final int mask;
+
+    private EmployeeIdIndex(int[] ids, int[] positions) {
+        this.ids = ids;
+        this.positions = positions;
+        this.mask = ids.length - 1;
+    }
+
+    /**
+     * Builds the index for a full roster.
+     *
+     * @param columns The roster to index.
+     * @return The id index of the roster.
+     */
+    public static EmployeeIdIndex of(RosterColumns columns) {
+        int capacity = Integer.highestOneBit(Math.max(1, columns.size() * 2 - 1)) << 1;
+        EmployeeIdIndex index = new EmployeeIdIndex(new int[capacity], new int[capacity]);
+        Arrays.fill(index.positions, FREE);
+        for (int position = 0; position < columns.size(); position++) {
+            if (columns.hasId(position)) {
+                index.insert(columns.idAt(position), position);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param id The id to look for.
+     * @return The position of the first employee with the id, or -1 if there is none.
+     */
+    public int positionOf(int id) {
+        for (int slot = slotOf(id); ; slot = (slot + 1) & mask) {
+            int position = positions[slot];
+            if (position == FREE || ids[slot] == id) {
+                return position;
+            }
+        }
+    }
+
+    private void insert(int id, int position) {
+        int slot = slotOf(id);
+        while (positions[slot] != FREE) {
+            if (ids[slot] == id) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        ids[slot] = id;
+        positions[slot] = position;
+    }
+
+    private int slotOf(int id) {
+        // Fibonacci hashing spreads sequential ids, the common case, over the whole table
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,464 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.config.RosterProperties;
+import com.example.rqchallenge.exception.EmployeeDataNotFoundException;
+import com.example.rqchallenge.helper.EmployeeHelper;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.FetchedRoster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+
+@Component
+@Slf4j
+public class EmployeeRosterCache {
+
+    EmployeeHelper employeeHelper;
+
+    RosterProperties rosterProperties;
+
+    Counter freshReads;
+
+    Counter staleReads;
+
+    Counter missedReads;
+
+    Counter memoryByIdReads;
+
+    Counter notFoundByIdReads;
+
+    Counter upstreamByIdReads;
+
+    private final AtomicReference<RosterSnapshot> currentSnapshot = new AtomicReference<>();
+    // the System.nanoTime() until which each id is remembered as not existing
+    private final Map<Integer, Long> notFoundUntil = new ConcurrentHashMap<>();
+    // the remembered ids in the order they expire, the ttl being the same for all of them
+    private final ConcurrentLinkedQueue<NotFoundId> notFoundExpiries = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock notFoundEvictionLock = new ReentrantLock();
+    private final ConcurrentNavigableMap<Long, RosterSnapshot> retainedSnapshots = new ConcurrentSkipListMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final ReentrantLock initialLoadLock = new ReentrantLock();
+    // guarded by writeLock: local writes made while a roster fetch is in flight, reapplied on top of what it returns
+    private final List<LocalWrite> writesDuringFetch = new ArrayList<>();
+    private long writeSequence;
+    private int fetchesInFlight;
+    private final ScheduledThreadPoolExecutor refreshExecutor;
+
+    @Autowired
+    public EmployeeRosterCache(EmployeeHelper employeeHelper, RosterProperties rosterProperties,
+                               MeterRegistry meterRegistry) {
+        this.employeeHelper = employeeHelper;
+        this.rosterProperties = rosterProperties;
+        // fresh and stale reads are both hits: a stale read is answered at once while the refresh runs behind it
+        this.freshReads = readCounter("fresh", meterRegistry);
+        this.staleReads = readCounter("stale", meterRegistry);
+        this.missedReads = readCounter("miss", meterRegistry);
+        this.memoryByIdReads = byIdReadCounter("memory", meterRegistry);
+        this.notFoundByIdReads = byIdReadCounter("not-found", meterRegistry);
+        this.upstreamByIdReads = byIdReadCounter("upstream", meterRegistry);
+        Gauge.builder("employee.roster.size", this, cache -> cache.measure(snapshot -> snapshot.getEmployees().size()))
+                .description("Employees in the current roster snapshot")
+                .register(meterRegistry);
+        TimeGauge.builder("employee.roster.age", this, TimeUnit.MILLISECONDS,
+                        cache -> cache.measure(snapshot -> snapshot.getAge().toMillis()))
+                .description("Time since the current roster snapshot was fetched or revalidated")
+                .register(meterRegistry);
+        Gauge.builder("employee.roster.version", this, cache -> cache.measure(RosterSnapshot::getVersion))
+                .description("Version of the current roster snapshot")
+                .register(meterRegistry);
+        this.refreshExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "roster-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public EmployeeRosterCache(EmployeeHelper employeeHelper, RosterProperties rosterProperties) {
+        this(employeeHelper, rosterProperties, new SimpleMeterRegistry());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (rosterProperties.isRefreshOnStartup()) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.error("Initial roster load failed, the roster will be loaded on first read", e);
+            }
+        }
+        long intervalMillis = rosterProperties.getRefreshInterval().toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refreshInBackground, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the current roster snapshot.
+     * <p>
+     * The first call loads the roster synchronously if it has not been loaded yet. Afterwards a
+     * snapshot older than the configured refresh interval is still returned immediately, while a
+     * background refresh is triggered to replace it (stale-while-revalidate).
+     *
+     * @return The current roster snapshot, never null.
+     * @throws EmployeeDataNotFoundException If the roster has never been
+     *                                                                       loaded and no employee data is found.
+     */
+    public RosterSnapshot getSnapshot() {
+        RosterSnapshot snapshot = currentSnapshot.get();
+        if (snapshot == null) {
+            missedReads.increment();
+            return loadInitialSnapshot();
+        }
+        if (snapshot.getAge().compareTo(rosterProperties.getRefreshInterval()) > 0) {
+            staleReads.increment();
+            // one refresh is submitted however many stale reads there are until it completes
+            if (refreshInProgress.compareAndSet(false, true)) {
+                log.info("Roster snapshot version {} is stale, refreshing in background", snapshot.getVersion());
+                try {
+                    refreshExecutor.execute(this::runClaimedRefresh);
+                } catch (RejectedExecutionException e) {
+                    refreshInProgress.set(false);
+                    log.warn("Roster refresh not submitted, the cache is stopped");
+                }
+            }
+        } else {
+            freshReads.increment();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns a recent snapshot by its version.
+     *
+     * @param version The version of the snapshot.
+     * @return The snapshot, or empty if it is older than the configured number of retained versions.
+     */
+    public Optional<RosterSnapshot> getSnapshot(long version) {
+        return Optional.ofNullable(retainedSnapshots.get(version));
+    }
+
+    /**
+     * @return Whether a snapshot has been loaded, i.e. {@link #getSnapshot()} will not block on the upstream.
+     */
+    public boolean isLoaded() {
+        return currentSnapshot.get() != null;
+    }
+
+    /**
+     * Fetches the roster through the helper and publishes it as a new snapshot.
+     * <p>
+     * If the fetched roster has the content digest of the current snapshot, the current snapshot is
+     * republished with its version, indexes and digest kept, and only its age reset.
+     * <p>
+     * Creates and deletes applied while the roster was being fetched are reapplied on top of it, since the
+     * fetched roster may predate them.
+     *
+     * @return The newly published snapshot.
+     */
+    public RosterSnapshot refresh() {
+        long fetchedAfter;
+        synchronized (writeLock) {
+            fetchedAfter = writeSequence;
+            fetchesInFlight++;
+        }
+        try {
+            return publishFetched(employeeHelper.fetchRoster(), fetchedAfter);
+        } finally {
+            synchronized (writeLock) {
+                if (--fetchesInFlight == 0) {
+                    writesDuringFetch.clear();
+                }
+            }
+        }
+    }
+
+    private RosterSnapshot publishFetched(FetchedRoster fetched, long fetchedAfter) {
+        synchronized (writeLock) {
+            RosterSnapshot current = currentSnapshot.get();
+            // published snapshots have their digest computed already, and it is the one the helper computes
+            if (current != null && fetched.getDigest() != null && fetched.getDigest().equals(current.getContentDigest())) {
+                RosterSnapshot revalidated = current.revalidatedAt(Instant.now());
+                publish(revalidated);
+                log.info("Roster unchanged, revalidated snapshot version {}", revalidated.getVersion());
+                return revalidated;
+            }
+            List<Employee> employeeList = fetched.getEmployees();
+            long version = versionSequence.incrementAndGet();
+            RosterSnapshot snapshot = new RosterSnapshot(version, employeeList, Instant.now(),
+                    rosterProperties.getSalaryRelativeAccuracy(), rosterProperties.getAgeBandWidth());
+            int reapplied = 0;
+            for (LocalWrite write : writesDuringFetch) {
+                if (write.sequence > fetchedAfter) {
+                    snapshot = write.patch.applyTo(snapshot, version);
+                    reapplied++;
+                }
+            }
+            // build the search index and the digest before publishing so that requests never pay for them after a refresh
+            snapshot.getNameSearchIndex();
+            snapshot.getIdIndex();
+            snapshot.getContentDigest();
+            publish(snapshot);
+            log.info("Published roster snapshot version {} with {} employees and {} local writes reapplied",
+                    snapshot.getVersion(), employeeList.size(), reapplied);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Looks an employee up by id without consulting the external API.
+     * <p>
+     * The current snapshot answers if it is no older than {@code employee.roster.by-id-max-age}, through
+     * its id index. Otherwise, or if it does not hold the id, an id remembered as not existing is
+     * rejected, and any other id is left to the caller to read from the external API.
+     *
+     * @param id The id of the employee.
+     * @return The employee, or null if the external API has to be consulted.
+     * @throws EmployeeDataNotFoundException If the id is remembered as not existing.
+     */
+    public Employee findById(int id) {
+        RosterSnapshot snapshot = currentSnapshot.get();
+        if (snapshot != null && snapshot.getAge().compareTo(rosterProperties.getByIdMaxAge()) <= 0) {
+            Employee employee = snapshot.findById(id);
+            if (employee != null) {
+                memoryByIdReads.increment();
+                return employee;
+            }
+        }
+        Long until = notFoundUntil.get(id);
+        if (until != null) {
+            if (until - System.nanoTime() > 0) {
+                notFoundByIdReads.increment();
+                throw new EmployeeDataNotFoundException("Data Not Found");
+            }
+            notFoundUntil.remove(id, until);
+        }
+        upstreamByIdReads.increment();
+        return null;
+    }
+
+    /**
+     * Remembers an id the external API has no employee for, for {@code employee.roster.not-found-ttl}.
+     *
+     * @param id The id of the employee that does not exist.
+     */
+    public void rememberNotFound(int id) {
+        long ttlNanos = rosterProperties.getNotFoundTtl().toNanos();
+        if (ttlNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        // only the expired ids at the head are evicted, so each remembered id is visited once; a caller
+        // finding another one evicting leaves it to that one
+        if (notFoundEvictionLock.tryLock()) {
+            try {
+                for (NotFoundId expired = notFoundExpiries.peek(); expired != null && expired.until - now <= 0;
+                     expired = notFoundExpiries.peek()) {
+                    notFoundExpiries.poll();
+                    notFoundUntil.remove(expired.id, expired.until);
+                }
+            } finally {
+                notFoundEvictionLock.unlock();
+            }
+        }
+        if (notFoundUntil.size() >= rosterProperties.getMaxNotFoundIds()) {
+            return;
+        }
+        long until = now + ttlNanos;
+        notFoundUntil.put(id, until);
+        notFoundExpiries.add(new NotFoundId(id, until));
+    }
+
+    /**
+     * Adds a newly created employee to the current snapshot, if one has been loaded.
+     *
+     * @param employee The employee returned by the external API.
+     */
+    public void applyCreated(Employee employee) {
+        forgetNotFound(employee);
+        apply((snapshot, version) -> snapshot.withEmployee(version, employee));
+    }
+
+    /**
+     * Adds newly created employees to the current snapshot in a single new version, if one has been loaded.
+     *
+     * @param employees The employees returned by the external API.
+     */
+    public void applyCreated(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        employees.forEach(this::forgetNotFound);
+        apply((snapshot, version) -> snapshot.withEmployees(version, employees));
+    }
+
+    /**
+     * Removes a deleted employee from the current snapshot, if one has been loaded.
+     *
+     * @param id The id of the deleted employee.
+     */
+    public void applyDeleted(Integer id) {
+        apply((snapshot, version) -> snapshot.withoutEmployee(version, id));
+    }
+
+    /**
+     * Removes deleted employees from the current snapshot in a single new version, if one has been loaded.
+     *
+     * @param ids The ids of the deleted employees.
+     */
+    public void applyDeleted(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        apply((snapshot, version) -> snapshot.withoutEmployees(version, ids));
+    }
+
+    private void apply(RosterPatch patch) {
+        synchronized (writeLock) {
+            long sequence = ++writeSequence;
+            if (fetchesInFlight > 0) {
+                writesDuringFetch.add(new LocalWrite(sequence, patch));
+            }
+            RosterSnapshot snapshot = currentSnapshot.get();
+            if (snapshot != null) {
+                RosterSnapshot next = patch.applyTo(snapshot, versionSequence.incrementAndGet());
+                if (next != snapshot) {
+                    // as after a refresh, conditional reads must not hash the roster on a request thread
+                    next.getContentDigest();
+                    publish(next);
+                }
+            }
+        }
+    }
+
+    private void forgetNotFound(Employee employee) {
+        if (employee.getId() != null) {
+            notFoundUntil.remove(employee.getId());
+        }
+    }
+
+    private void publish(RosterSnapshot snapshot) {
+        currentSnapshot.set(snapshot);
+        retainedSnapshots.put(snapshot.getVersion(), snapshot);
+        while (retainedSnapshots.size() > Math.max(1, rosterProperties.getRetainedVersions())) {
+            retainedSnapshots.pollFirstEntry();
+        }
+    }
+
+    private RosterSnapshot loadInitialSnapshot() {
+        // a lock rather than a monitor: waiting on the upstream inside synchronized would pin a virtual thread's carrier
+        initialLoadLock.lock();
+        try {
+            RosterSnapshot snapshot = currentSnapshot.get();
+            return snapshot != null ? snapshot : refresh();
+        } finally {
+            initialLoadLock.unlock();
+        }
+    }
+
+    private void refreshInBackground() {
+        if (refreshInProgress.compareAndSet(false, true)) {
+            runClaimedRefresh();
+        }
+    }
+
+    /**
+     * Runs a background refresh once {@code refreshInProgress} has been set by the caller.
+     */
+    private void runClaimedRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Roster refresh failed, keeping snapshot version {}", currentVersion(), e);
+        } finally {
+            refreshInProgress.set(false);
+        }
+    }
+
+    private static Counter readCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("employee.roster.reads")
+                .description("Roster snapshot reads by whether the snapshot was fresh, stale or not loaded yet")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter byIdReadCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("employee.roster.by-id.reads")
+                .description("Employee reads by id by whether the roster answered, the id was known not to exist or the external API was left to answer")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private double measure(ToDoubleFunction<RosterSnapshot> measurement) {
+        RosterSnapshot snapshot = currentSnapshot.get();
+        return snapshot == null ? Double.NaN : measurement.applyAsDouble(snapshot);
+    }
+
+    private long currentVersion() {
+        RosterSnapshot snapshot = currentSnapshot.get();
+        return snapshot == null ? 0 : snapshot.getVersion();
+    }
+
+    /**
+     * A local change to the roster, applicable to any snapshot.
+     */
+    private interface RosterPatch {
+
+        RosterSnapshot applyTo(RosterSnapshot snapshot, long version);
+    }
+
+    private static final class LocalWrite {
+
+        private final long sequence;
+        private final RosterPatch patch;
+
+        LocalWrite(long sequence, RosterPatch patch) {
+            this.sequence = sequence;
+            this.patch = patch;
+        }
+    }
+
+    /**
+     * An id remembered as not existing, with the {@link System#nanoTime()} it is remembered until.
+     */
+    private static final class NotFoundId {
+
+        private final int id;
+        private final long until;
+
+        NotFoundId(int id, long until) {
+            this.id = id;
+            this.until = until;
+        }
+    }
+}
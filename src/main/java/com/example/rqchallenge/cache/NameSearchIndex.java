@@ -0,0 +1,288 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram inverted index over case-folded, accent-normalized employee names.
+ * <p>
+ * Every name is folded once when the index is built and each distinct trigram maps to the sorted
+ * roster positions of the names containing it. A search for three or more characters intersects
+ * the posting lists of the query trigrams and only verifies the surviving candidates, so no string
+ * is allocated per employee. Shorter queries are answered by scanning the pre-folded names, which
+ * are packed into a single string addressed by offsets rather than held as one string per employee.
+ * <p>
+ * The index is immutable and belongs to a single roster snapshot. The index of a patched snapshot is
+ * derived from the previous one, folding only the added names.
+ */
+public class NameSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final RosterColumns columns;
+    private final String foldedNames;
+    private final int[] foldedOffsets;
+    private final Map<Long, int[]> postings;
+
+    private NameSearchIndex(RosterColumns columns, String foldedNames, int[] foldedOffsets, Map<Long, int[]> postings) {
+        this.columns = columns;
+        this.foldedNames = foldedNames;
+        this.foldedOffsets = foldedOffsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Builds the index for the given roster.
+     *
+     * @param columns The roster, in the order search results are returned.
+     * @return The name search index of the roster.
+     */
+    public static NameSearchIndex of(RosterColumns columns) {
+        StringBuilder foldedNames = new StringBuilder(columns.size() * 16);
+        int[] foldedOffsets = new int[columns.size() + 1];
+        Map<Long, PostingBuilder> builders = new HashMap<>();
+        appendFolded(columns, 0, foldedNames, foldedOffsets, builders);
+        Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((gram, builder) -> postings.put(gram, builder.toArray()));
+        return new NameSearchIndex(columns, foldedNames.toString(), foldedOffsets, postings);
+    }
+
+    /**
+     * Derives the index of a patched roster from this one. The folded names of the kept employees are
+     * copied and their postings renumbered; only the appended names are folded.
+     *
+     * @param patchedColumns The roster of this index without the removed positions, then with employees appended.
+     * @param removed        The positions removed from the roster of this index, ascending and distinct.
+     * @param appendedFrom   The first appended position of the patched roster.
+     * @return The name search index of the patched roster.
+     */
+    public NameSearchIndex withPatched(RosterColumns patchedColumns, int[] removed, int appendedFrom) {
+        StringBuilder patchedNames = new StringBuilder(foldedNames.length() + (patchedColumns.size() - appendedFrom) * 16);
+        int[] patchedOffsets = new int[patchedColumns.size() + 1];
+        // copy the folded names between two removed positions as one run
+        for (int next = 0, from = 0, target = 0; next <= removed.length; next++) {
+            int to = next < removed.length ? removed[next] : columns.size();
+            int shift = patchedNames.length() - foldedOffsets[from];
+            patchedNames.append(foldedNames, foldedOffsets[from], foldedOffsets[to]);
+            for (int position = from; position < to; position++) {
+                patchedOffsets[++target] = foldedOffsets[position + 1] + shift;
+            }
+            from = to + 1;
+        }
+        Map<Long, int[]> patchedPostings = new HashMap<>(postings.size() * 4 / 3 + 1);
+        if (removed.length == 0) {
+            patchedPostings.putAll(postings);
+        } else {
+            postings.forEach((gram, posting) -> {
+                int[] kept = renumber(posting, removed);
+                if (kept.length > 0) {
+                    patchedPostings.put(gram, kept);
+                }
+            });
+        }
+        Map<Long, PostingBuilder> builders = new HashMap<>();
+        appendFolded(patchedColumns, appendedFrom, patchedNames, patchedOffsets, builders);
+        // appended positions follow every kept one, so concatenating keeps the postings sorted
+        builders.forEach((gram, builder) -> patchedPostings.merge(gram, builder.toArray(), NameSearchIndex::concat));
+        return new NameSearchIndex(patchedColumns, patchedNames.toString(), patchedOffsets, patchedPostings);
+    }
+
+    /**
+     * Case-folds the given text and strips accents so that accented names match their unaccented spelling.
+     *
+     * @param text The text to fold.
+     * @return The folded text.
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    /**
+     * Returns the employees whose folded name contains the folded search string.
+     *
+     * @param searchString The string to search for.
+     * @return The matching employees in roster order.
+     */
+    public List<Employee> search(String searchString) {
+        String query = fold(searchString);
+        if (query.length() < GRAM_LENGTH) {
+            return scan(query);
+        }
+        int gramCount = query.length() - GRAM_LENGTH + 1;
+        int[][] lists = new int[gramCount][];
+        for (int start = 0; start < gramCount; start++) {
+            int[] posting = postings.get(gram(query, start));
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            lists[start] = posting;
+        }
+        Arrays.sort(lists, (left, right) -> Integer.compare(left.length, right.length));
+        return intersect(lists, query);
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    private List<Employee> scan(String query) {
+        if (query.isEmpty()) {
+            return columns.asList();
+        }
+        PostingBuilder matches = new PostingBuilder();
+        int from = 0;
+        int found;
+        while ((found = foldedNames.indexOf(query, from)) >= 0) {
+            int position = positionAt(found);
+            int end = foldedOffsets[position + 1];
+            // a hit spanning two packed names is not a match, so retry from its next character
+            if (found + query.length() <= end) {
+                matches.add(position);
+                from = end;
+            } else {
+                from = found + 1;
+            }
+        }
+        return columns.select(matches.toArray());
+    }
+
+    /**
+     * @return The position of the name holding the given character of the packed names.
+     */
+    private int positionAt(int offset) {
+        int low = 0;
+        int high = columns.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (foldedOffsets[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private List<Employee> intersect(int[][] lists, String query) {
+        int[] smallest = lists[0];
+        int[] cursors = new int[lists.length];
+        PostingBuilder matches = new PostingBuilder();
+        candidates:
+        for (int candidate : smallest) {
+            for (int list = 1; list < lists.length; list++) {
+                int found = advance(lists[list], cursors[list], candidate);
+                if (found == lists[list].length) {
+                    break candidates;
+                }
+                cursors[list] = found;
+                if (lists[list][found] != candidate) {
+                    continue candidates;
+                }
+            }
+            // trigrams may occur in a different order than in the query, so confirm the substring
+            if (contains(candidate, query)) {
+                matches.add(candidate);
+            }
+        }
+        return columns.select(matches.toArray());
+    }
+
+    /**
+     * @return Whether the folded name at the given position contains the query, without copying the name out.
+     */
+    private boolean contains(int position, String query) {
+        int last = foldedOffsets[position + 1] - query.length();
+        for (int start = foldedOffsets[position]; start <= last; start++) {
+            if (foldedNames.regionMatches(start, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gallops from {@code from} to the first index whose value is not lower than {@code target}.
+     */
+    private static int advance(int[] list, int from, int target) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < list.length && list[high] < target) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, list.length);
+        int index = Arrays.binarySearch(list, low, high, target);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static void appendFolded(RosterColumns columns, int from, StringBuilder foldedNames, int[] foldedOffsets,
+                                     Map<Long, PostingBuilder> builders) {
+        for (int position = from; position < columns.size(); position++) {
+            String name = columns.getName(position);
+            String folded = name == null ? "" : fold(name);
+            foldedNames.append(folded);
+            foldedOffsets[position + 1] = foldedNames.length();
+            for (int start = 0; start + GRAM_LENGTH <= folded.length(); start++) {
+                builders.computeIfAbsent(gram(folded, start), key -> new PostingBuilder()).add(position);
+            }
+        }
+    }
+
+    /**
+     * @return The posting without the removed positions, the others moved down by the number of removed positions before them.
+     */
+    private static int[] renumber(int[] posting, int[] removed) {
+        int[] kept = new int[posting.length];
+        int count = 0;
+        for (int position : posting) {
+            int found = Arrays.binarySearch(removed, position);
+            if (found < 0) {
+                kept[count++] = position + found + 1;
+            }
+        }
+        return count == posting.length ? kept : Arrays.copyOf(kept, count);
+    }
+
+    private static int[] concat(int[] left, int[] right) {
+        int[] joined = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, joined, left.length, right.length);
+        return joined;
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static final class PostingBuilder {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            // a name repeating a trigram contributes its position only once
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
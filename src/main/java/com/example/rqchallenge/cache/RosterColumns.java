@@ -0,0 +1,435 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable struct-of-arrays store of a roster.
+ * <p>
+ * Ids, salaries and ages are held in primitive {@code int} columns, names are packed as UTF-8 into a
+ * single byte array addressed by offsets, and profile images, which rarely differ, are dictionary
+ * encoded. Null values are recorded in bitmaps that are only allocated for a column holding a null.
+ * An employee is addressed by its position in the roster; {@link Employee} objects are only created
+ * when the roster is read through one of its list views, one at a time as the view is iterated.
+ */
+public final class RosterColumns {
+
+    private static final String[] NO_IMAGES = new String[0];
+
+    private final int size;
+    private final int[] ids;
+    private final int[] salaries;
+    private final int[] ages;
+    private final byte[] nameBytes;
+    private final int[] nameOffsets;
+    private final String[] imageDictionary;
+    private final int[] imageCodes;
+    private final long[] nullIds;
+    private final long[] nullSalaries;
+    private final long[] nullAges;
+    private final long[] nullNames;
+    private final long[] nullImages;
+    private final List<Employee> employees = new Materialized();
+
+    private RosterColumns(int size, int[] ids, int[] salaries, int[] ages, byte[] nameBytes, int[] nameOffsets,
+                          String[] imageDictionary, int[] imageCodes, long[] nullIds, long[] nullSalaries,
+                          long[] nullAges, long[] nullNames, long[] nullImages) {
+        this.size = size;
+        this.ids = ids;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.nameBytes = nameBytes;
+        this.nameOffsets = nameOffsets;
+        this.imageDictionary = imageDictionary;
+        this.imageCodes = imageCodes;
+        this.nullIds = nullIds;
+        this.nullSalaries = nullSalaries;
+        this.nullAges = nullAges;
+        this.nullNames = nullNames;
+        this.nullImages = nullImages;
+    }
+
+    /**
+     * Stores the given roster in columns.
+     *
+     * @param employees The roster, in order.
+     * @return The columns of the roster; the columns behind the list if it is already a view of columns.
+     */
+    public static RosterColumns of(List<Employee> employees) {
+        if (employees instanceof Materialized) {
+            return ((Materialized) employees).columns();
+        }
+        Builder builder = new Builder(employees.size());
+        for (Employee employee : employees) {
+            builder.add(employee);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Integer getId(int position) {
+        return isSet(nullIds, position) ? null : ids[position];
+    }
+
+    public Integer getSalary(int position) {
+        return isSet(nullSalaries, position) ? null : salaries[position];
+    }
+
+    public Integer getAge(int position) {
+        return isSet(nullAges, position) ? null : ages[position];
+    }
+
+    public String getName(int position) {
+        if (isSet(nullNames, position)) {
+            return null;
+        }
+        int from = nameOffsets[position];
+        return new String(nameBytes, from, nameOffsets[position + 1] - from, StandardCharsets.UTF_8);
+    }
+
+    public String getProfileImage(int position) {
+        if (isSet(nullImages, position)) {
+            return null;
+        }
+        return imageDictionary[imageCodes == null ? 0 : imageCodes[position]];
+    }
+
+    /**
+     * @return Whether the employee at the given position has a salary.
+     */
+    boolean hasSalary(int position) {
+        return !isSet(nullSalaries, position);
+    }
+
+    /**
+     * @return The salary of the employee at the given position, which must have one.
+     */
+    int salaryAt(int position) {
+        return salaries[position];
+    }
+
+    /**
+     * @return Whether the employee at the given position has an id.
+     */
+    boolean hasId(int position) {
+        return !isSet(nullIds, position);
+    }
+
+    /**
+     * @return The id of the employee at the given position, which must have one.
+     */
+    int idAt(int position) {
+        return ids[position];
+    }
+
+    /**
+     * Materializes the employee at the given position.
+     *
+     * @param position The position of the employee in the roster.
+     * @return A new employee entity holding the values of the position.
+     */
+    public Employee get(int position) {
+        return new Employee(getId(position), getName(position), getSalary(position), getAge(position),
+                getProfileImage(position));
+    }
+
+    /**
+     * @return The roster as an unmodifiable list that materializes an employee on every element access.
+     */
+    public List<Employee> asList() {
+        return employees;
+    }
+
+    /**
+     * @param positions Positions in this roster.
+     * @return An unmodifiable list of the employees at the given positions, materialized on access.
+     */
+    public List<Employee> select(int[] positions) {
+        return new Selection(positions);
+    }
+
+    /**
+     * @param id The id to look for.
+     * @return The position of the first employee with the id, or -1 if there is none.
+     */
+    public int positionOf(Integer id) {
+        for (int position = 0; position < size; position++) {
+            if (id == null ? !hasId(position) : hasId(position) && ids[position] == id) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param position The position to replace, or {@link #size()} to append.
+     * @param employee The employee to store at the position.
+     * @return A copy of these columns with the employee stored at the position.
+     */
+    public RosterColumns with(int position, Employee employee) {
+        Builder builder = new Builder(Math.max(size, position + 1));
+        for (int existing = 0; existing < size; existing++) {
+            if (existing == position) {
+                builder.add(employee);
+            } else {
+                builder.copy(this, existing);
+            }
+        }
+        if (position == size) {
+            builder.add(employee);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param position The position to remove.
+     * @return A copy of these columns without the employee at the position; later positions move down by one.
+     */
+    public RosterColumns without(int position) {
+        Builder builder = new Builder(size - 1);
+        for (int existing = 0; existing < size; existing++) {
+            if (existing != position) {
+                builder.copy(this, existing);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param wanted The ids to look for, which may include null if the set permits it.
+     * @return The positions of every employee with one of the ids, ascending.
+     */
+    public int[] positionsOf(Set<Integer> wanted) {
+        int[] positions = new int[size];
+        int count = 0;
+        for (int position = 0; position < size; position++) {
+            if (wanted.contains(hasId(position) ? ids[position] : null)) {
+                positions[count++] = position;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * @param positions The positions to remove, ascending and distinct.
+     * @return A copy of these columns without the employees at the positions; later positions move down
+     * by the number of removed positions before them.
+     */
+    public RosterColumns without(int[] positions) {
+        Builder builder = new Builder(size - positions.length);
+        int next = 0;
+        for (int existing = 0; existing < size; existing++) {
+            if (next < positions.length && positions[next] == existing) {
+                next++;
+            } else {
+                builder.copy(this, existing);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param employees The employees to append, in order.
+     * @return A copy of these columns with the employees appended, in a single pass.
+     */
+    public RosterColumns withAppended(List<Employee> employees) {
+        Builder builder = new Builder(size + employees.size());
+        for (int existing = 0; existing < size; existing++) {
+            builder.copy(this, existing);
+        }
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Estimates the heap retained by these columns, excluding the list views.
+     *
+     * @return The estimated size in bytes, assuming 16 byte array headers.
+     */
+    public long estimateHeapBytes() {
+        long bytes = 3 * arrayBytes(size, 4) + arrayBytes(nameBytes.length, 1) + arrayBytes(nameOffsets.length, 4);
+        for (String image : imageDictionary) {
+            bytes += 40 + (image == null ? 0 : image.length());
+        }
+        bytes += imageCodes == null ? 0 : arrayBytes(imageCodes.length, 4);
+        for (long[] bitmap : new long[][]{nullIds, nullSalaries, nullAges, nullNames, nullImages}) {
+            bytes += bitmap == null ? 0 : arrayBytes(bitmap.length, 8);
+        }
+        return bytes;
+    }
+
+    private static long arrayBytes(int length, int elementBytes) {
+        return 16 + (long) length * elementBytes;
+    }
+
+    private static boolean isSet(long[] bitmap, int position) {
+        return bitmap != null && (bitmap[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * Appends employees column by column.
+     */
+    private static final class Builder {
+
+        private final int capacity;
+        private final int[] ids;
+        private final int[] salaries;
+        private final int[] ages;
+        private final int[] nameOffsets;
+        private final int[] imageCodes;
+        private final Map<String, Integer> imageCodesByValue = new HashMap<>();
+        private byte[] nameBytes;
+        private int nameLength;
+        private long[] nullIds;
+        private long[] nullSalaries;
+        private long[] nullAges;
+        private long[] nullNames;
+        private long[] nullImages;
+        private int size;
+
+        Builder(int capacity) {
+            this.capacity = capacity;
+            this.ids = new int[capacity];
+            this.salaries = new int[capacity];
+            this.ages = new int[capacity];
+            this.nameOffsets = new int[capacity + 1];
+            this.imageCodes = new int[capacity];
+            // most names are short and ASCII, so this rarely needs to grow
+            this.nameBytes = new byte[Math.max(16, capacity * 16)];
+        }
+
+        void add(Employee employee) {
+            int position = size++;
+            if (employee.getId() == null) {
+                nullIds = set(nullIds, position);
+            } else {
+                ids[position] = employee.getId();
+            }
+            if (employee.getSalary() == null) {
+                nullSalaries = set(nullSalaries, position);
+            } else {
+                salaries[position] = employee.getSalary();
+            }
+            if (employee.getAge() == null) {
+                nullAges = set(nullAges, position);
+            } else {
+                ages[position] = employee.getAge();
+            }
+            if (employee.getName() == null) {
+                nullNames = set(nullNames, position);
+            } else {
+                byte[] name = employee.getName().getBytes(StandardCharsets.UTF_8);
+                appendName(name, 0, name.length);
+            }
+            nameOffsets[position + 1] = nameLength;
+            addImage(position, employee.getProfileImage());
+        }
+
+        private void appendName(byte[] source, int from, int length) {
+            if (nameLength + length > nameBytes.length) {
+                nameBytes = Arrays.copyOf(nameBytes, Math.max(nameBytes.length * 2, nameLength + length));
+            }
+            System.arraycopy(source, from, nameBytes, nameLength, length);
+            nameLength += length;
+        }
+
+        private void addImage(int position, String image) {
+            if (image == null) {
+                nullImages = set(nullImages, position);
+            } else {
+                imageCodes[position] = imageCodesByValue.computeIfAbsent(image, value -> imageCodesByValue.size());
+            }
+        }
+
+        /**
+         * Appends the employee at the given position of other columns without materializing it.
+         */
+        void copy(RosterColumns source, int sourcePosition) {
+            int position = size++;
+            ids[position] = source.ids[sourcePosition];
+            salaries[position] = source.salaries[sourcePosition];
+            ages[position] = source.ages[sourcePosition];
+            if (isSet(source.nullIds, sourcePosition)) {
+                nullIds = set(nullIds, position);
+            }
+            if (isSet(source.nullSalaries, sourcePosition)) {
+                nullSalaries = set(nullSalaries, position);
+            }
+            if (isSet(source.nullAges, sourcePosition)) {
+                nullAges = set(nullAges, position);
+            }
+            if (isSet(source.nullNames, sourcePosition)) {
+                nullNames = set(nullNames, position);
+            } else {
+                int from = source.nameOffsets[sourcePosition];
+                appendName(source.nameBytes, from, source.nameOffsets[sourcePosition + 1] - from);
+            }
+            nameOffsets[position + 1] = nameLength;
+            addImage(position, source.getProfileImage(sourcePosition));
+        }
+
+        RosterColumns build() {
+            String[] imageDictionary = imageCodesByValue.isEmpty() ? NO_IMAGES : new String[imageCodesByValue.size()];
+            imageCodesByValue.forEach((image, code) -> imageDictionary[code] = image);
+            // with a single distinct image every code is 0 and the codes need not be stored
+            return new RosterColumns(size, ids, salaries, ages, Arrays.copyOf(nameBytes, nameLength), nameOffsets,
+                    imageDictionary, imageDictionary.length > 1 ? imageCodes : null,
+                    nullIds, nullSalaries, nullAges, nullNames, nullImages);
+        }
+
+        private long[] set(long[] bitmap, int position) {
+            long[] bits = bitmap == null ? new long[(capacity + 63) >>> 6] : bitmap;
+            bits[position >>> 6] |= 1L << position;
+            return bits;
+        }
+    }
+
+    private final class Materialized extends AbstractList<Employee> implements RandomAccess {
+
+        @Override
+        public Employee get(int index) {
+            Objects.checkIndex(index, size);
+            return RosterColumns.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        RosterColumns columns() {
+            return RosterColumns.this;
+        }
+    }
+
+    private final class Selection extends AbstractList<Employee> implements RandomAccess {
+
+        private final int[] positions;
+
+        Selection(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public Employee get(int index) {
+            return RosterColumns.this.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
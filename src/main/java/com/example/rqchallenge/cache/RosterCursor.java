@@ -0,0 +1,75 @@
+package com.example.rqchallenge.cache;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the results of a paged roster query.
+ * <p>
+ * A cursor pins the roster snapshot version the first page was served from, so following pages are
+ * read from the same version even if the roster changes in between. It also carries a truncated
+ * SHA-256 of the query it belongs to and is rejected when presented to a different query; unlike a
+ * {@link String#hashCode()}, distinct queries cannot be made to share it. Clients only see the encoded,
+ * opaque form.
+ */
+@Getter
+public final class RosterCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final long version;
+    private final int offset;
+    private final String scopeDigest;
+
+    private RosterCursor(long version, int offset, String scopeDigest) {
+        this.version = version;
+        this.offset = offset;
+        this.scopeDigest = scopeDigest;
+    }
+
+    /**
+     * @param version The snapshot version the query is answered from.
+     * @param offset  The position of the first result of the next page.
+     * @param scope   The query the cursor belongs to.
+     * @return The cursor.
+     */
+    public static RosterCursor of(long version, int offset, String scope) {
+        return new RosterCursor(version, offset, digest(scope));
+    }
+
+    /**
+     * Decodes a cursor handed out for the given query.
+     *
+     * @param token The encoded cursor.
+     * @param scope The query the cursor is presented to.
+     * @return The decoded cursor.
+     * @throws IllegalArgumentException If the token is malformed or belongs to another query.
+     */
+    public static RosterCursor decode(String token, String scope) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.US_ASCII).split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor provided");
+            }
+            RosterCursor cursor = new RosterCursor(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), parts[2]);
+            if (cursor.offset < 0 || !cursor.scopeDigest.equals(digest(scope))) {
+                throw new IllegalArgumentException("Invalid cursor provided");
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            // also covers NumberFormatException and invalid Base64, which must not surface as a number error
+            throw new IllegalArgumentException("Invalid cursor provided");
+        }
+    }
+
+    public String encode() {
+        return ENCODER.encodeToString((version + "." + offset + "." + scopeDigest).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String digest(String scope) {
+        return EmployeeDigest.ofKey(scope);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.model.Employee;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * One page of the results of a roster query.
+ * <p>
+ * The snapshot of a page is resolved up front while the query itself only runs when the employees or
+ * the next cursor are first read, so a caller can answer a conditional request from the snapshot alone.
+ */
+public class RosterPage {
+
+    @Getter
+    private final RosterSnapshot snapshot;
+    private final Supplier<List<Employee>> query;
+    private final int offset;
+    private final int limit;
+    private final String scope;
+
+    private List<Employee> employees;
+    private String nextCursor;
+
+    private RosterPage(RosterSnapshot snapshot, Supplier<List<Employee>> query, int offset, int limit, String scope) {
+        this.snapshot = snapshot;
+        this.query = query;
+        this.offset = offset;
+        this.limit = limit;
+        this.scope = scope;
+    }
+
+    /**
+     * Describes a page of the results of a query.
+     *
+     * @param snapshot The snapshot the results are read from.
+     * @param query    Returns all results of the query; run at most once, on first access to the page.
+     * @param offset   The position of the first result of the page.
+     * @param limit    The maximum number of results on the page.
+     * @param scope    The query, bound into the cursor of the next page.
+     * @return The page, with a cursor for the next page unless it is the last one.
+     */
+    public static RosterPage of(RosterSnapshot snapshot, Supplier<List<Employee>> query, int offset, int limit, String scope) {
+        return new RosterPage(snapshot, query, offset, limit, scope);
+    }
+
+    /**
+     * @return The employees on this page.
+     */
+    public List<Employee> getEmployees() {
+        resolve();
+        return employees;
+    }
+
+    /**
+     * @return The cursor of the next page, or null if this is the last one.
+     */
+    public String getNextCursor() {
+        resolve();
+        return nextCursor;
+    }
+
+    private synchronized void resolve() {
+        if (employees != null) {
+            return;
+        }
+        List<Employee> results = query.get();
+        int from = Math.min(offset, results.size());
+        int to = (int) Math.min((long) from + limit, results.size());
+        nextCursor = to < results.size() ? RosterCursor.of(snapshot.getVersion(), to, scope).encode() : null;
+        employees = Collections.unmodifiableList(results.subList(from, to));
+    }
+}
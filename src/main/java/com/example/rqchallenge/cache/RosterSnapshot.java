@@ -0,0 +1,278 @@
+package com.example.rqchallenge.cache;
+
+import com.example.rqchallenge.model.Employee;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the employee roster held in memory.
+ * <p>
+ * A snapshot is never modified after it is published; roster changes produce a new snapshot with
+ * a higher version which replaces the previous one atomically.
+ * <p>
+ * The employees are held in {@link RosterColumns} and the indexes refer to roster positions, so
+ * queries run against the columns and {@link Employee} objects are only created for the employees
+ * a response actually returns.
+ */
+@Getter
+public class RosterSnapshot {
+
+    private final long version;
+    private final RosterColumns columns;
+    private final SalaryIndex salaryIndex;
+    private final SalaryAnalytics salaryAnalytics;
+    private final Instant createdAt;
+    private volatile NameSearchIndex nameSearchIndex;
+    private volatile EmployeeIdIndex idIndex;
+    private volatile String contentDigest;
+
+    /**
+     * @param version                The version of the snapshot.
+     * @param employees              The roster, in order.
+     * @param createdAt              The time the roster was fetched.
+     * @param salaryRelativeAccuracy The relative error bound of the salary sketches.
+     * @param ageBandWidth           The number of ages per band of the salary analytics.
+     */
+    public RosterSnapshot(long version, List<Employee> employees, Instant createdAt, double salaryRelativeAccuracy,
+                          int ageBandWidth) {
+        this(version, RosterColumns.of(employees), createdAt, salaryRelativeAccuracy, ageBandWidth);
+    }
+
+    private RosterSnapshot(long version, RosterColumns columns, Instant createdAt, double salaryRelativeAccuracy,
+                           int ageBandWidth) {
+        this(version, columns, SalaryIndex.of(columns), SalaryAnalytics.of(columns, salaryRelativeAccuracy, ageBandWidth),
+                createdAt);
+    }
+
+    private RosterSnapshot(long version, RosterColumns columns, SalaryIndex salaryIndex, SalaryAnalytics salaryAnalytics,
+                           Instant createdAt) {
+        this.version = version;
+        this.columns = columns;
+        this.salaryIndex = salaryIndex;
+        this.salaryAnalytics = salaryAnalytics;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * @return The employees of this snapshot, as an unmodifiable list materializing each employee on access.
+     */
+    public List<Employee> getEmployees() {
+        return columns.asList();
+    }
+
+    /**
+     * @return How long ago the roster of this snapshot was fetched or revalidated; local changes patched
+     * into a snapshot keep the time of the roster they were applied to.
+     */
+    public Duration getAge() {
+        return Duration.between(createdAt, Instant.now());
+    }
+
+    /**
+     * Returns the name search index of this snapshot, building it on first use.
+     *
+     * @return The trigram index over the names of this snapshot.
+     */
+    public NameSearchIndex getNameSearchIndex() {
+        NameSearchIndex index = nameSearchIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = nameSearchIndex;
+                if (index == null) {
+                    index = NameSearchIndex.of(columns);
+                    nameSearchIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the id index of this snapshot, building it on first use.
+     *
+     * @return The index from employee id to roster position.
+     */
+    public EmployeeIdIndex getIdIndex() {
+        EmployeeIdIndex index = idIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = idIndex;
+                if (index == null) {
+                    index = EmployeeIdIndex.of(columns);
+                    idIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @param id The id of the employee to look up.
+     * @return The employee with the id, or null if this snapshot does not hold one.
+     */
+    public Employee findById(int id) {
+        int position = getIdIndex().positionOf(id);
+        return position < 0 ? null : columns.get(position);
+    }
+
+    /**
+     * Returns a digest of the employees of this snapshot, computing it on first use.
+     * <p>
+     * Unlike the version, the digest only changes when the roster content changes, so a refresh that
+     * brings back the same employees keeps it.
+     *
+     * @return The {@link EmployeeDigest} of the employees, in roster order.
+     */
+    public String getContentDigest() {
+        String digest = contentDigest;
+        if (digest == null) {
+            synchronized (this) {
+                digest = contentDigest;
+                if (digest == null) {
+                    digest = EmployeeDigest.of(columns.asList());
+                    contentDigest = digest;
+                }
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Builds a copy of this snapshot, with the same version and content, that counts as refreshed at the given time.
+     * The indexes, the salary analytics and the digest are shared with this snapshot instead of being built again.
+     *
+     * @param refreshedAt The time the content of this snapshot was confirmed by the external API.
+     * @return The revalidated snapshot.
+     */
+    public RosterSnapshot revalidatedAt(Instant refreshedAt) {
+        RosterSnapshot revalidated = new RosterSnapshot(version, columns, salaryIndex, salaryAnalytics, refreshedAt);
+        revalidated.nameSearchIndex = nameSearchIndex;
+        revalidated.idIndex = idIndex;
+        revalidated.contentDigest = contentDigest;
+        return revalidated;
+    }
+
+    /**
+     * Builds the next snapshot with the given employee added, replacing any entry with the same id.
+     *
+     * @param version  The version of the new snapshot.
+     * @param employee The employee to add.
+     * @return A new snapshot containing the employee.
+     */
+    public RosterSnapshot withEmployee(long version, Employee employee) {
+        RosterColumns patchedColumns = columns;
+        SalaryIndex patchedIndex = salaryIndex;
+        SalaryAnalytics patchedAnalytics = salaryAnalytics;
+        for (int position; (position = patchedColumns.positionOf(employee.getId())) >= 0; ) {
+            patchedIndex = patchedIndex.withRemoved(patchedColumns, position, true);
+            patchedAnalytics = patchedAnalytics.withRemoved(patchedColumns.getSalary(position), patchedColumns.getAge(position));
+            patchedColumns = patchedColumns.without(position);
+        }
+        int appended = patchedColumns.size();
+        patchedColumns = patchedColumns.with(appended, employee);
+        return patched(version, patchedColumns, patchedIndex.withAdded(patchedColumns, appended),
+                patchedAnalytics.withAdded(employee.getSalary(), employee.getAge()),
+                columns.positionsOf(Collections.singleton(employee.getId())), appended);
+    }
+
+    /**
+     * Builds the next snapshot with the given employees added, replacing any entry with the same id, as if
+     * they were added one by one with {@link #withEmployee} but copying the roster once instead of once per
+     * employee.
+     *
+     * @param version   The version of the new snapshot.
+     * @param employees The employees to add, in order; of several with the same id the last one is kept.
+     * @return A new snapshot containing the employees.
+     */
+    public RosterSnapshot withEmployees(long version, List<Employee> employees) {
+        Map<Integer, Employee> byId = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            // re-inserted so that a repeated id ends up where adding one by one would append it last
+            byId.remove(employee.getId());
+            byId.put(employee.getId(), employee);
+        }
+        int[] replaced = columns.positionsOf(byId.keySet());
+        List<Employee> added = new ArrayList<>(byId.values());
+        SalaryAnalytics patchedAnalytics = salaryAnalytics;
+        for (int position : replaced) {
+            patchedAnalytics = patchedAnalytics.withRemoved(columns.getSalary(position), columns.getAge(position));
+        }
+        for (Employee employee : added) {
+            patchedAnalytics = patchedAnalytics.withAdded(employee.getSalary(), employee.getAge());
+        }
+        RosterColumns patchedColumns = columns.without(replaced).withAppended(added);
+        int appended = patchedColumns.size() - added.size();
+        SalaryIndex patchedIndex = salaryIndex.withRemoved(columns, replaced).withAppended(patchedColumns, appended);
+        return patched(version, patchedColumns, patchedIndex, patchedAnalytics, replaced, appended);
+    }
+
+    /**
+     * Builds the next snapshot without the employee identified by the given id.
+     *
+     * @param version The version of the new snapshot.
+     * @param id      The id of the employee to remove.
+     * @return A new snapshot without the employee, or this snapshot if the id is not part of the roster.
+     */
+    public RosterSnapshot withoutEmployee(long version, Integer id) {
+        RosterColumns patchedColumns = columns;
+        SalaryIndex patchedIndex = salaryIndex;
+        SalaryAnalytics patchedAnalytics = salaryAnalytics;
+        for (int position; (position = patchedColumns.positionOf(id)) >= 0; ) {
+            patchedIndex = patchedIndex.withRemoved(patchedColumns, position, true);
+            patchedAnalytics = patchedAnalytics.withRemoved(patchedColumns.getSalary(position), patchedColumns.getAge(position));
+            patchedColumns = patchedColumns.without(position);
+        }
+        if (patchedColumns == columns) {
+            return this;
+        }
+        return patched(version, patchedColumns, patchedIndex, patchedAnalytics,
+                columns.positionsOf(Collections.singleton(id)), patchedColumns.size());
+    }
+
+    /**
+     * Builds the next snapshot without the employees identified by the given ids, copying the roster once.
+     *
+     * @param version The version of the new snapshot.
+     * @param ids     The ids of the employees to remove.
+     * @return A new snapshot without the employees, or this snapshot if none of the ids is part of the roster.
+     */
+    public RosterSnapshot withoutEmployees(long version, Collection<Integer> ids) {
+        int[] removed = columns.positionsOf(new HashSet<>(ids));
+        if (removed.length == 0) {
+            return this;
+        }
+        SalaryAnalytics patchedAnalytics = salaryAnalytics;
+        for (int position : removed) {
+            patchedAnalytics = patchedAnalytics.withRemoved(columns.getSalary(position), columns.getAge(position));
+        }
+        RosterColumns patchedColumns = columns.without(removed);
+        return patched(version, patchedColumns, salaryIndex.withRemoved(columns, removed), patchedAnalytics, removed,
+                patchedColumns.size());
+    }
+
+    /**
+     * Builds a patched snapshot keeping the fetch time of this one. If this snapshot has built its name search
+     * index, the patched snapshot derives its own from it instead of building it again on the next search.
+     *
+     * @param removed  The positions of this snapshot removed by the patch, ascending and distinct.
+     * @param appended The first position of the patched roster added by the patch.
+     */
+    private RosterSnapshot patched(long version, RosterColumns patchedColumns, SalaryIndex patchedIndex,
+                                   SalaryAnalytics patchedAnalytics, int[] removed, int appended) {
+        RosterSnapshot patched = new RosterSnapshot(version, patchedColumns, patchedIndex, patchedAnalytics, createdAt);
+        NameSearchIndex index = nameSearchIndex;
+        if (index != null) {
+            patched.nameSearchIndex = index.withPatched(patchedColumns, removed, appended);
+        }
+        return patched;
+    }
+}
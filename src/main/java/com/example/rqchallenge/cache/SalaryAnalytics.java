@@ -0,0 +1,125 @@
+package com.example.rqchallenge.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable salary sketches of a roster: one over all employees with a salary and one per age band.
+ * <p>
+ * The sketches are built in one pass when a roster snapshot is built and patched with the salary and
+ * age of a single employee when one is created or deleted, so percentile, histogram and age band
+ * queries never scan the roster. Employees without a salary are not counted; employees without an
+ * age are counted in the overall sketch only.
+ */
+public final class SalaryAnalytics {
+
+    private final int ageBandWidth;
+    private final SalarySketch salaries;
+    private final SortedMap<Integer, SalarySketch> ageBands;
+
+    private SalaryAnalytics(int ageBandWidth, SalarySketch salaries, SortedMap<Integer, SalarySketch> ageBands) {
+        this.ageBandWidth = ageBandWidth;
+        this.salaries = salaries;
+        this.ageBands = ageBands;
+    }
+
+    /**
+     * Sketches the salaries of a full roster.
+     *
+     * @param columns          The roster.
+     * @param relativeAccuracy The relative error bound of the sketches.
+     * @param ageBandWidth     The number of ages per band, at least 1.
+     * @return The salary analytics of the roster.
+     * @throws IllegalArgumentException If the accuracy or band width is out of range.
+     */
+    public static SalaryAnalytics of(RosterColumns columns, double relativeAccuracy, int ageBandWidth) {
+        if (ageBandWidth < 1) {
+            throw new IllegalArgumentException("age band width must be at least 1");
+        }
+        SalarySketch.Builder salaries = SalarySketch.builder(relativeAccuracy);
+        Map<Integer, SalarySketch.Builder> bands = new TreeMap<>();
+        for (int position = 0; position < columns.size(); position++) {
+            if (!columns.hasSalary(position)) {
+                continue;
+            }
+            int salary = columns.salaryAt(position);
+            salaries.add(salary);
+            Integer age = columns.getAge(position);
+            if (age != null) {
+                bands.computeIfAbsent(bandOf(age, ageBandWidth), band -> SalarySketch.builder(relativeAccuracy)).add(salary);
+            }
+        }
+        SortedMap<Integer, SalarySketch> ageBands = new TreeMap<>();
+        bands.forEach((band, builder) -> ageBands.put(band, builder.build()));
+        return new SalaryAnalytics(ageBandWidth, salaries.build(), Collections.unmodifiableSortedMap(ageBands));
+    }
+
+    public int getAgeBandWidth() {
+        return ageBandWidth;
+    }
+
+    /**
+     * @return The sketch of all salaries.
+     */
+    public SalarySketch getSalaries() {
+        return salaries;
+    }
+
+    /**
+     * @return The salary sketch of every age band holding an employee, keyed by the lowest age of the band.
+     */
+    public SortedMap<Integer, SalarySketch> getAgeBands() {
+        return ageBands;
+    }
+
+    /**
+     * @param salary The salary of the added employee, or null.
+     * @param age    The age of the added employee, or null.
+     * @return A copy of these analytics counting the employee.
+     */
+    public SalaryAnalytics withAdded(Integer salary, Integer age) {
+        if (salary == null) {
+            return this;
+        }
+        SortedMap<Integer, SalarySketch> patchedBands = ageBands;
+        if (age != null) {
+            int band = bandOf(age, ageBandWidth);
+            SalarySketch sketch = ageBands.getOrDefault(band, SalarySketch.empty(salaries.getRelativeAccuracy()));
+            patchedBands = withBand(band, sketch.withAdded(salary));
+        }
+        return new SalaryAnalytics(ageBandWidth, salaries.withAdded(salary), patchedBands);
+    }
+
+    /**
+     * @param salary The salary of the removed employee, or null.
+     * @param age    The age of the removed employee, or null.
+     * @return A copy of these analytics no longer counting the employee.
+     */
+    public SalaryAnalytics withRemoved(Integer salary, Integer age) {
+        if (salary == null) {
+            return this;
+        }
+        SortedMap<Integer, SalarySketch> patchedBands = ageBands;
+        if (age != null) {
+            int band = bandOf(age, ageBandWidth);
+            patchedBands = withBand(band, ageBands.get(band).withRemoved(salary));
+        }
+        return new SalaryAnalytics(ageBandWidth, salaries.withRemoved(salary), patchedBands);
+    }
+
+    private SortedMap<Integer, SalarySketch> withBand(int band, SalarySketch sketch) {
+        SortedMap<Integer, SalarySketch> patched = new TreeMap<>(ageBands);
+        if (sketch.getCount() == 0) {
+            patched.remove(band);
+        } else {
+            patched.put(band, sketch);
+        }
+        return Collections.unmodifiableSortedMap(patched);
+    }
+
+    private static int bandOf(int age, int ageBandWidth) {
+        return Math.floorDiv(age, ageBandWidth) * ageBandWidth;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.rqchallenge.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Immutable salary-ordered multiset of roster positions.
+ * <p>
+ * Positions are kept sorted by the salary of their employee in descending order, ties broken by
+ * ascending id, so the highest salary is read in O(1) and the top-N earners in O(N). The index is
+ * sorted once per roster refresh, split across the common fork-join pool for large rosters; single
+ * employee changes produce a patched copy through a binary-search insert or a single-pass remove
+ * instead of a full re-sort, and a batch of changes is merged in with a single pass. Employees without
+ * a salary are not indexed.
+ */
+public class SalaryIndex {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 15;
+
+    private final int[] bySalary;
+    private final Integer highestSalary;
+
+    private SalaryIndex(int[] bySalary, Integer highestSalary) {
+        this.bySalary = bySalary;
+        this.highestSalary = highestSalary;
+    }
+
+    private SalaryIndex(int[] bySalary, RosterColumns columns) {
+        this(bySalary, bySalary.length == 0 ? null : columns.salaryAt(bySalary[0]));
+    }
+
+    /**
+     * Builds the index for a full roster.
+     *
+     * @param columns The roster to index.
+     * @return The salary index of the roster.
+     */
+    public static SalaryIndex of(RosterColumns columns) {
+        int[] positions = new int[columns.size()];
+        int count = 0;
+        for (int position = 0; position < columns.size(); position++) {
+            if (columns.hasSalary(position)) {
+                positions[count++] = position;
+            }
+        }
+        int[] bySalary = Arrays.copyOf(positions, count);
+        if (count > PARALLEL_SORT_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new SortTask(bySalary, new int[count], 0, count, columns));
+        } else {
+            sort(bySalary, new int[count], 0, count, columns);
+        }
+        return new SalaryIndex(bySalary, columns);
+    }
+
+    public static SalaryIndex empty() {
+        return new SalaryIndex(EMPTY, (Integer) null);
+    }
+
+    public int size() {
+        return bySalary.length;
+    }
+
+    /**
+     * @return The highest salary, or null if no employee with a salary is indexed.
+     */
+    public Integer getHighestSalary() {
+        return highestSalary;
+    }
+
+    /**
+     * Returns the positions of the highest-earning employees.
+     *
+     * @param count The maximum number of positions to return.
+     * @return Up to {@code count} roster positions ordered by salary descending, then id ascending.
+     */
+    public int[] getTopEarners(int count) {
+        return Arrays.copyOf(bySalary, Math.min(Math.max(count, 0), bySalary.length));
+    }
+
+    /**
+     * @param columns  The roster the position refers to.
+     * @param position The position to add.
+     * @return A copy of this index including the position.
+     */
+    public SalaryIndex withAdded(RosterColumns columns, int position) {
+        if (!columns.hasSalary(position)) {
+            return this;
+        }
+        int found = search(columns, position);
+        int insertAt = found >= 0 ? found : -found - 1;
+        int[] patched = new int[bySalary.length + 1];
+        System.arraycopy(bySalary, 0, patched, 0, insertAt);
+        patched[insertAt] = position;
+        System.arraycopy(bySalary, insertAt, patched, insertAt + 1, bySalary.length - insertAt);
+        return new SalaryIndex(patched, columns);
+    }
+
+    /**
+     * @param columns  The roster the indexed positions refer to, still holding the employee to remove.
+     * @param position The position to remove.
+     * @param shift    Whether the later positions move down by one, because the position is removed from the roster too.
+     * @return A copy of this index without the position.
+     */
+    public SalaryIndex withRemoved(RosterColumns columns, int position, boolean shift) {
+        // a linear scan is no slower than the copy below, and finds the position among equal salaries and ids
+        int removeAt = -1;
+        for (int rank = 0; rank < bySalary.length && removeAt < 0; rank++) {
+            if (bySalary[rank] == position) {
+                removeAt = rank;
+            }
+        }
+        if (removeAt < 0 && !shift) {
+            return this;
+        }
+        int[] patched = new int[removeAt < 0 ? bySalary.length : bySalary.length - 1];
+        Integer patchedHighestSalary = null;
+        for (int rank = 0, next = 0; rank < bySalary.length; rank++) {
+            if (rank != removeAt) {
+                int indexed = bySalary[rank];
+                if (next == 0) {
+                    patchedHighestSalary = columns.salaryAt(indexed);
+                }
+                patched[next++] = shift && indexed > position ? indexed - 1 : indexed;
+            }
+        }
+        return new SalaryIndex(patched, patchedHighestSalary);
+    }
+
+    /**
+     * Adds the positions appended to the roster in one pass: they are sorted among themselves and then
+     * merged into this index.
+     *
+     * @param columns The roster the positions refer to.
+     * @param from    The first appended position; every position from it to the end of the roster is added.
+     * @return A copy of this index including the appended positions.
+     */
+    public SalaryIndex withAppended(RosterColumns columns, int from) {
+        int[] added = new int[columns.size() - from];
+        int count = 0;
+        for (int position = from; position < columns.size(); position++) {
+            if (columns.hasSalary(position)) {
+                added[count++] = position;
+            }
+        }
+        if (count == 0) {
+            return this;
+        }
+        int[] patched = Arrays.copyOf(bySalary, bySalary.length + count);
+        System.arraycopy(added, 0, patched, bySalary.length, count);
+        sort(patched, new int[patched.length], bySalary.length, patched.length, columns);
+        if (bySalary.length > 0) {
+            merge(patched, new int[patched.length], 0, bySalary.length, patched.length, columns);
+        }
+        return new SalaryIndex(patched, columns);
+    }
+
+    /**
+     * @param columns   The roster the indexed positions refer to, still holding the employees to remove.
+     * @param positions The positions to remove from both the index and the roster, ascending and distinct;
+     *                  later positions move down by the number of removed positions before them.
+     * @return A copy of this index without the positions.
+     */
+    public SalaryIndex withRemoved(RosterColumns columns, int[] positions) {
+        if (positions.length == 0) {
+            return this;
+        }
+        int[] patched = new int[bySalary.length];
+        int next = 0;
+        Integer patchedHighestSalary = null;
+        for (int indexed : bySalary) {
+            int found = Arrays.binarySearch(positions, indexed);
+            if (found < 0) {
+                if (next == 0) {
+                    patchedHighestSalary = columns.salaryAt(indexed);
+                }
+                patched[next++] = indexed + found + 1;
+            }
+        }
+        return new SalaryIndex(Arrays.copyOf(patched, next), patchedHighestSalary);
+    }
+
+    private int search(RosterColumns columns, int position) {
+        int low = 0;
+        int high = bySalary.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int order = compare(columns, bySalary[middle], position);
+            if (order < 0) {
+                low = middle + 1;
+            } else if (order > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Orders by salary descending, then id ascending with missing ids last.
+     */
+    static int compare(RosterColumns columns, int left, int right) {
+        int order = Integer.compare(columns.salaryAt(right), columns.salaryAt(left));
+        if (order != 0) {
+            return order;
+        }
+        boolean leftHasId = columns.hasId(left);
+        boolean rightHasId = columns.hasId(right);
+        if (leftHasId && rightHasId) {
+            return Integer.compare(columns.idAt(left), columns.idAt(right));
+        }
+        return leftHasId == rightHasId ? 0 : leftHasId ? -1 : 1;
+    }
+
+    /**
+     * Merge sort of positions, stable and without boxing them.
+     */
+    private static void sort(int[] positions, int[] buffer, int from, int to, RosterColumns columns) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(positions, buffer, from, middle, columns);
+        sort(positions, buffer, middle, to, columns);
+        merge(positions, buffer, from, middle, to, columns);
+    }
+
+    /**
+     * Merges the sorted ranges {@code [from, middle)} and {@code [middle, to)}, the left one first among equals.
+     */
+    private static void merge(int[] positions, int[] buffer, int from, int middle, int to, RosterColumns columns) {
+        if (compare(columns, positions[middle - 1], positions[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(positions, from, buffer, from, to - from);
+        for (int target = from, left = from, right = middle; target < to; target++) {
+            if (right >= to || (left < middle && compare(columns, buffer[left], buffer[right]) <= 0)) {
+                positions[target] = buffer[left++];
+            } else {
+                positions[target] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * The merge sort of {@link #sort}, with both halves of a large range sorted in parallel.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] positions;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final RosterColumns columns;
+
+        SortTask(int[] positions, int[] buffer, int from, int to, RosterColumns columns) {
+            this.positions = positions;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.columns = columns;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_SORT_THRESHOLD) {
+                sort(positions, buffer, from, to, columns);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(positions, buffer, from, middle, columns),
+                    new SortTask(positions, buffer, middle, to, columns));
+            merge(positions, buffer, from, middle, to, columns);
+        }
+    }
+}
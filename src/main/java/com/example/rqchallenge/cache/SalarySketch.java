@@ -0,0 +1,362 @@
+package com.example.rqchallenge.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, mergeable quantile sketch of salaries with a relative accuracy guarantee.
+ * <p>
+ * Values are counted in logarithmic buckets in the manner of DDSketch: bucket {@code k} holds the
+ * values in {@code (gamma^(k-1), gamma^k]} with {@code gamma = (1 + a) / (1 - a)}, so any quantile
+ * is answered within a relative error of {@code a} of an actual value at that rank. Negative values
+ * are counted in mirrored buckets and zeros separately. Int salaries span about a thousand
+ * buckets per sign at 1% accuracy, so the bucket counts are held densely between the lowest and
+ * highest key in use.
+ * <p>
+ * Because the counts are exact per bucket, a value can be removed again as precisely as it was
+ * added, and two sketches of the same accuracy merge by adding their counts.
+ */
+public final class SalarySketch {
+
+    private static final long[] NO_COUNTS = new long[0];
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Buckets positive;
+    private final Buckets negative;
+    private final long zeroCount;
+    private final long count;
+    private final long sum;
+
+    private SalarySketch(double relativeAccuracy, Buckets positive, Buckets negative, long zeroCount, long count, long sum) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.positive = positive;
+        this.negative = negative;
+        this.zeroCount = zeroCount;
+        this.count = count;
+        this.sum = sum;
+    }
+
+    /**
+     * @param relativeAccuracy The relative error bound of the quantiles, strictly between 0 and 1.
+     * @return An empty sketch.
+     * @throws IllegalArgumentException If the accuracy is out of range.
+     */
+    public static SalarySketch empty(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relative accuracy must be between 0 and 1, exclusive");
+        }
+        return new SalarySketch(relativeAccuracy, Buckets.EMPTY, Buckets.EMPTY, 0, 0, 0);
+    }
+
+    /**
+     * @param relativeAccuracy The relative error bound of the quantiles, strictly between 0 and 1.
+     * @return A builder counting many values into a new sketch without copying it per value.
+     */
+    public static Builder builder(double relativeAccuracy) {
+        return new Builder(empty(relativeAccuracy));
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * @return The exact mean of the counted values, or null if the sketch is empty.
+     */
+    public Double getMean() {
+        return count == 0 ? null : (double) sum / count;
+    }
+
+    /**
+     * @param value The value to count.
+     * @return A copy of this sketch counting the value once more.
+     */
+    public SalarySketch withAdded(int value) {
+        return withCount(value, 1);
+    }
+
+    /**
+     * @param value A value previously counted by this sketch.
+     * @return A copy of this sketch counting the value once less.
+     * @throws IllegalArgumentException If the bucket of the value is already empty.
+     */
+    public SalarySketch withRemoved(int value) {
+        return withCount(value, -1);
+    }
+
+    private SalarySketch withCount(int value, long delta) {
+        if (value == 0) {
+            return new SalarySketch(relativeAccuracy, positive, negative, checked(zeroCount + delta), count + delta,
+                    sum + delta * value);
+        }
+        Buckets updatedPositive = value > 0 ? positive.withCount(key(value), delta) : positive;
+        Buckets updatedNegative = value < 0 ? negative.withCount(key(-(long) value), delta) : negative;
+        return new SalarySketch(relativeAccuracy, updatedPositive, updatedNegative, zeroCount, count + delta,
+                sum + delta * value);
+    }
+
+    /**
+     * @param other A sketch with the same relative accuracy.
+     * @return A sketch counting the values of both sketches.
+     * @throws IllegalArgumentException If the accuracies differ.
+     */
+    public SalarySketch merge(SalarySketch other) {
+        if (Double.compare(relativeAccuracy, other.relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Cannot merge sketches of different relative accuracy");
+        }
+        return new SalarySketch(relativeAccuracy, positive.merge(other.positive), negative.merge(other.negative),
+                zeroCount + other.zeroCount, count + other.count, sum + other.sum);
+    }
+
+    /**
+     * Estimates the value at the given quantile.
+     *
+     * @param quantile The quantile, between 0 and 1.
+     * @return A value within the relative accuracy of the value at that rank, or null if the sketch is empty.
+     */
+    public Double getQuantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = 0;
+        // most negative values first: the negative buckets from the highest key down
+        for (int index = negative.counts.length - 1; index >= 0; index--) {
+            seen += negative.counts[index];
+            if (seen > rank) {
+                return -value(negative.offset + index);
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0d;
+        }
+        for (int index = 0; index < positive.counts.length; index++) {
+            seen += positive.counts[index];
+            if (seen > rank) {
+                return value(positive.offset + index);
+            }
+        }
+        return value(positive.offset + positive.counts.length - 1);
+    }
+
+    /**
+     * Spreads the counted values over equally wide bins between the lowest and highest estimated value.
+     * Each sketch bucket is attributed to the bin holding its estimated value, so bin edges are as
+     * accurate as the sketch.
+     *
+     * @param binCount The number of bins, at least 1.
+     * @return The bins in ascending order, or an empty list if the sketch is empty.
+     */
+    public List<Bin> getHistogram(int binCount) {
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+        double lowest = getQuantile(0);
+        double highest = getQuantile(1);
+        double width = (highest - lowest) / binCount;
+        long[] binCounts = new long[binCount];
+        for (int index = 0; index < negative.counts.length; index++) {
+            binCounts[bin(-value(negative.offset + index), lowest, width, binCount)] += negative.counts[index];
+        }
+        binCounts[bin(0, lowest, width, binCount)] += zeroCount;
+        for (int index = 0; index < positive.counts.length; index++) {
+            binCounts[bin(value(positive.offset + index), lowest, width, binCount)] += positive.counts[index];
+        }
+        List<Bin> bins = new ArrayList<>(binCount);
+        for (int bin = 0; bin < binCount; bin++) {
+            double upper = bin == binCount - 1 ? highest : lowest + width * (bin + 1);
+            bins.add(new Bin(lowest + width * bin, upper, binCounts[bin]));
+        }
+        return bins;
+    }
+
+    private static int bin(double value, double lowest, double width, int binCount) {
+        if (width == 0) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.min(binCount - 1, Math.floor((value - lowest) / width)));
+    }
+
+    private int key(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * @return The estimate of the values of a bucket, within the relative accuracy of all of them.
+     */
+    private double value(int key) {
+        return 2 * Math.pow(gamma, key) / (gamma + 1);
+    }
+
+    private static long checked(long bucketCount) {
+        if (bucketCount < 0) {
+            throw new IllegalArgumentException("Cannot remove a value that was not counted");
+        }
+        return bucketCount;
+    }
+
+    /**
+     * Counts values into growable bucket arrays; used to sketch a whole roster at once.
+     */
+    public static final class Builder {
+
+        private final SalarySketch template;
+        private final long[][] counts = {NO_COUNTS, NO_COUNTS};
+        private final int[] offsets = new int[2];
+        private long zeroCount;
+        private long count;
+        private long sum;
+
+        private Builder(SalarySketch template) {
+            this.template = template;
+        }
+
+        public Builder add(int value) {
+            count++;
+            sum += value;
+            if (value == 0) {
+                zeroCount++;
+            } else {
+                int sign = value > 0 ? 0 : 1;
+                increment(sign, template.key(Math.abs((double) value)));
+            }
+            return this;
+        }
+
+        private void increment(int sign, int key) {
+            long[] signCounts = counts[sign];
+            int offset = offsets[sign];
+            if (signCounts.length == 0) {
+                offset = key;
+                signCounts = new long[1];
+            } else if (key < offset || key >= offset + signCounts.length) {
+                // grow by at least the current size so that a spread of keys costs amortized O(1) copies
+                int from = Math.min(key, offset);
+                int to = Math.max(key + 1, offset + signCounts.length);
+                int slack = signCounts.length;
+                from = key < offset ? from - slack : from;
+                to = key < offset ? to : to + slack;
+                long[] grown = new long[to - from];
+                System.arraycopy(signCounts, 0, grown, offset - from, signCounts.length);
+                signCounts = grown;
+                offset = from;
+            }
+            signCounts[key - offset]++;
+            counts[sign] = signCounts;
+            offsets[sign] = offset;
+        }
+
+        public SalarySketch build() {
+            return new SalarySketch(template.relativeAccuracy, Buckets.trimmed(offsets[0], counts[0]),
+                    Buckets.trimmed(offsets[1], counts[1]), zeroCount, count, sum);
+        }
+    }
+
+    /**
+     * A histogram bin; the upper bound of the last bin is inclusive.
+     */
+    public static final class Bin {
+
+        private final double lowerBound;
+        private final double upperBound;
+        private final long count;
+
+        Bin(double lowerBound, double upperBound, long count) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.count = count;
+        }
+
+        public double getLowerBound() {
+            return lowerBound;
+        }
+
+        public double getUpperBound() {
+            return upperBound;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Dense bucket counts from key {@code offset} on.
+     */
+    private static final class Buckets {
+
+        static final Buckets EMPTY = new Buckets(0, NO_COUNTS);
+
+        final int offset;
+        final long[] counts;
+
+        Buckets(int offset, long[] counts) {
+            this.offset = offset;
+            this.counts = counts;
+        }
+
+        Buckets withCount(int key, long delta) {
+            if (counts.length == 0) {
+                return new Buckets(key, new long[]{checked(delta)});
+            }
+            int from = Math.min(offset, key);
+            int to = Math.max(offset + counts.length, key + 1);
+            long[] updated = new long[to - from];
+            System.arraycopy(counts, 0, updated, offset - from, counts.length);
+            updated[key - from] = checked(updated[key - from] + delta);
+            return trimmed(from, updated);
+        }
+
+        Buckets merge(Buckets other) {
+            if (other.counts.length == 0) {
+                return this;
+            }
+            if (counts.length == 0) {
+                return other;
+            }
+            int from = Math.min(offset, other.offset);
+            int to = Math.max(offset + counts.length, other.offset + other.counts.length);
+            long[] merged = new long[to - from];
+            System.arraycopy(counts, 0, merged, offset - from, counts.length);
+            for (int index = 0; index < other.counts.length; index++) {
+                merged[other.offset - from + index] += other.counts[index];
+            }
+            return new Buckets(from, merged);
+        }
+
+        /**
+         * Drops empty buckets at both ends, so the lowest and highest bucket always hold a value.
+         */
+        static Buckets trimmed(int offset, long[] counts) {
+            int first = 0;
+            int last = counts.length - 1;
+            while (first <= last && counts[first] == 0) {
+                first++;
+            }
+            while (last >= first && counts[last] == 0) {
+                last--;
+            }
+            if (first > last) {
+                return EMPTY;
+            }
+            if (first == 0 && last == counts.length - 1) {
+                return new Buckets(offset, counts);
+            }
+            return new Buckets(offset + first, Arrays.copyOfRange(counts, first, last + 1));
+        }
+    }
+}
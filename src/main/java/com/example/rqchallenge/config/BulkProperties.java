@@ -0,0 +1,34 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "employee.bulk")
+public class BulkProperties {
+
+    /**
+     * Largest number of items a single bulk request may hold. Larger requests are rejected before any
+     * item is sent to the external API.
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * Number of items sent to the external API at the same time by the bulk requests of one operation;
+     * creates, deletes and multi-gets each have their own. Every call still waits for a rate limiter
+     * permit, so this bounds the calls in flight rather than their rate.
+     */
+    private int upstreamConcurrency = 4;
+
+    /**
+     * How long the items of a bulk request may wait for rate limiter permits, counted from the start of the
+     * request. Items without a permit by then are reported with 429 instead of being sent.
+     */
+    private Duration maxWait = Duration.ofSeconds(30);
+}
@@ -0,0 +1,56 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "employee.cache-db")
+public class CacheDbProperties {
+
+    /**
+     * Number of rows sent to the cache database per JDBC batch when the roster is upserted.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Whether cache database mutations are applied in the request thread or queued for a background writer.
+     */
+    private WriteMode writeMode = WriteMode.WRITE_THROUGH;
+
+    /**
+     * Maximum number of distinct employees with a queued mutation in write-behind mode.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * What happens to a mutation that does not fit into a full write-behind queue.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+    /**
+     * How long shutdown waits for the write-behind queue to drain.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public enum WriteMode {
+        WRITE_THROUGH,
+        WRITE_BEHIND
+    }
+
+    public enum OverflowPolicy {
+        /**
+         * Apply the mutation synchronously in the calling thread.
+         */
+        CALLER_RUNS,
+        /**
+         * Discard the mutation; the next roster refresh writes the employee again.
+         */
+        DROP
+    }
+}
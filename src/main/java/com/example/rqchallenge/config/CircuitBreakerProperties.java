@@ -0,0 +1,45 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "employee.upstream.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /**
+     * Number of most recent calls the failure rate is computed over while the breaker is closed.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Minimum number of recorded calls before the failure rate can open the breaker.
+     */
+    private int minimumCalls = 10;
+
+    /**
+     * Failure rate, in percent of the sliding window, at which the breaker opens.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * How long the breaker stays open before it lets probes through.
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * Minimum time between two probes while the breaker is half-open.
+     */
+    private Duration probeInterval = Duration.ofSeconds(1);
+
+    /**
+     * Number of consecutive successful probes that close the breaker again.
+     */
+    private int probesToClose = 3;
+}
@@ -0,0 +1,60 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.example.rqchallenge.constant.EmployeeConstant.*;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "employee.upstream.rate-limit")
+public class RateLimiterProperties {
+
+    /**
+     * Sustained upstream request rate per operation (list, get-by-id, create, delete).
+     */
+    private Map<String, Double> permitsPerSecond = new HashMap<>();
+
+    /**
+     * Rate used for an operation without an entry in {@code permits-per-second}.
+     */
+    private double defaultPermitsPerSecond = 1;
+
+    /**
+     * Number of requests an operation may send back to back after being idle.
+     */
+    private int burst = 5;
+
+    /**
+     * Maximum number of requests per operation waiting for a permit; further requests are rejected.
+     */
+    private int maxQueued = 50;
+
+    /**
+     * Longest time a request waits for a permit before it is rejected.
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * Pause applied after a 429 response that carries no {@code Retry-After} header.
+     */
+    private Duration defaultRetryAfter = Duration.ofSeconds(5);
+
+    public RateLimiterProperties() {
+        permitsPerSecond.put(OPERATION_LIST, 1.0);
+        permitsPerSecond.put(OPERATION_GET_BY_ID, 2.0);
+        permitsPerSecond.put(OPERATION_CREATE, 1.0);
+        permitsPerSecond.put(OPERATION_DELETE, 1.0);
+    }
+
+    public double getPermitsPerSecond(String operation) {
+        return permitsPerSecond.getOrDefault(operation, defaultPermitsPerSecond);
+    }
+}
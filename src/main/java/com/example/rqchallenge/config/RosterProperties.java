@@ -0,0 +1,91 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "employee.roster")
+public class RosterProperties {
+
+    /**
+     * How often the in-memory roster snapshot is refreshed from the external API. A read that finds
+     * the snapshot older than this triggers a background revalidation and is still served from the
+     * current snapshot.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Whether the roster is loaded once while the application starts. A failed warm-up is logged and
+     * the first read loads the roster instead.
+     */
+    private boolean refreshOnStartup = true;
+
+    /**
+     * Number of most recent roster snapshots kept in memory so that pagination cursors issued against
+     * them stay valid after the roster changes.
+     */
+    private int retainedVersions = 4;
+
+    /**
+     * Page size used when a cursor is given without a limit.
+     */
+    private int defaultPageSize = 100;
+
+    /**
+     * Largest limit a client may ask for.
+     */
+    private int maxPageSize = 1000;
+
+    /**
+     * Largest number of top earners a client may ask for.
+     */
+    private int maxTopEarners = 1000;
+
+    /**
+     * Relative error bound of the salary percentiles, histograms and age band figures, which are
+     * answered from quantile sketches instead of the exact salaries.
+     */
+    private double salaryRelativeAccuracy = 0.01;
+
+    /**
+     * Number of ages per band of the salary age band breakdown.
+     */
+    private int ageBandWidth = 10;
+
+    /**
+     * Number of salary histogram buckets when none is requested.
+     */
+    private int defaultHistogramBuckets = 10;
+
+    /**
+     * Largest number of salary histogram buckets a client may ask for.
+     */
+    private int maxHistogramBuckets = 100;
+
+    /**
+     * How old the roster snapshot may be for a read by id to be answered from it without consulting the
+     * external API. Ids the snapshot does not hold, and every id while the snapshot is older than this,
+     * are still read from the external API first. Zero sends every read by id to the external API first.
+     * Defaults to three refresh intervals, so that a late or failed refresh does not send reads by id to the
+     * external API.
+     */
+    private Duration byIdMaxAge = Duration.ofSeconds(90);
+
+    /**
+     * How long an id the external API answered without data is remembered as not existing. Reads of it are
+     * answered with 404 meanwhile without consulting the external API, unless the employee is created
+     * through this service. Zero disables the negative caching.
+     */
+    private Duration notFoundTtl = Duration.ofSeconds(30);
+
+    /**
+     * Largest number of ids remembered as not existing; further ones are not remembered until entries expire.
+     */
+    private int maxNotFoundIds = 10000;
+}
@@ -0,0 +1,31 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "employee.streaming")
+public class StreamingProperties {
+
+    /**
+     * Number of threads writing streamed response bodies: the unpaged employee list, search and top earners.
+     */
+    private int threads = 16;
+
+    /**
+     * Streamed responses waiting for a writer thread. Beyond it the request thread writes the body itself.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Time a streamed response may take to be written before it is aborted, long enough for the whole
+     * roster to reach a slow client.
+     */
+    private Duration timeout = Duration.ofMinutes(5);
+}
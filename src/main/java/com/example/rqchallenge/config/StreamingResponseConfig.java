@@ -0,0 +1,54 @@
+package com.example.rqchallenge.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor and timeout of the servlet stack's asynchronous responses, which are the streamed response bodies.
+ * <p>
+ * Streamed bodies would otherwise be written on the shared application task executor, with its unbounded
+ * queue and the container's default async timeout, so a few slow clients could hold up every list and
+ * search response and a large roster could be cut off halfway. They get writer threads of their own and a
+ * timeout sized for the whole roster; once the queue is full the request thread writes the body itself.
+ * <p>
+ * The executor is deliberately not a bean: an {@link java.util.concurrent.Executor} bean would replace the
+ * auto-configured application task executor.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StreamingResponseConfig implements WebMvcConfigurer {
+
+    private final StreamingProperties properties;
+
+    private final ThreadPoolTaskExecutor streamingExecutor = new ThreadPoolTaskExecutor();
+
+    public StreamingResponseConfig(StreamingProperties properties) {
+        this.properties = properties;
+        int threads = Math.max(1, properties.getThreads());
+        streamingExecutor.setCorePoolSize(threads);
+        streamingExecutor.setMaxPoolSize(threads);
+        streamingExecutor.setQueueCapacity(Math.max(0, properties.getQueueCapacity()));
+        streamingExecutor.setAllowCoreThreadTimeOut(true);
+        streamingExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        streamingExecutor.setThreadNamePrefix("http-stream-");
+        streamingExecutor.initialize();
+    }
+
+    // ordered after the auto-configured WebMvcConfigurer, so this executor and timeout take precedence
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(properties.getTimeout().toMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamingExecutor.shutdown();
+    }
+}
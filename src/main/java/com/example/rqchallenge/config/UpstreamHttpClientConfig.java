@@ -0,0 +1,73 @@
+package com.example.rqchallenge.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled Apache HttpClient transport for the upstream {@link org.springframework.web.client.RestTemplate}.
+ * <p>
+ * Connections to the external API are kept alive and reused instead of paying a TCP and TLS
+ * handshake per call. Pool usage is published through Micrometer as
+ * {@code httpcomponents.httpclient.pool.*} tagged with {@code httpclient=upstream}.
+ */
+@Configuration
+@Slf4j
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(UpstreamHttpProperties properties,
+                                                                        MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "upstream").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient upstreamHttpClient(PoolingHttpClientConnectionManager upstreamConnectionManager,
+                                                  UpstreamHttpProperties properties) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getPoolAcquireTimeout().toMillis())
+                .build();
+        long defaultKeepAliveMillis = properties.getDefaultKeepAlive().toMillis();
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleEvictionTime().toMillis(), TimeUnit.MILLISECONDS);
+        if (properties.isGzip()) {
+            builder.setDefaultHeaders(Collections.singletonList(new BasicHeader(HttpHeaders.ACCEPT_ENCODING, "gzip")));
+        } else {
+            builder.disableContentCompression();
+        }
+        log.info("Upstream HTTP pool configured with {} connections ({} per route)",
+                properties.getMaxConnections(), properties.getMaxConnectionsPerRoute());
+        return builder.build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory upstreamRequestFactory(CloseableHttpClient upstreamHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "employee.upstream.http")
+public class UpstreamHttpProperties {
+
+    /**
+     * Maximum number of pooled connections across all routes.
+     */
+    private int maxConnections = 50;
+
+    /**
+     * Maximum number of pooled connections to a single host.
+     */
+    private int maxConnectionsPerRoute = 20;
+
+    /**
+     * Time allowed to establish the TCP/TLS connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum inactivity between two data packets of a response.
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Time a request waits for a free connection when the pool is exhausted.
+     */
+    private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Pooled connections idle for longer than this are closed by a background evictor.
+     */
+    private Duration idleEvictionTime = Duration.ofSeconds(30);
+
+    /**
+     * How long a connection is kept alive when the server does not send a Keep-Alive timeout.
+     */
+    private Duration defaultKeepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Whether to send {@code Accept-Encoding: gzip} and transparently decompress responses.
+     */
+    private boolean gzip = true;
+}
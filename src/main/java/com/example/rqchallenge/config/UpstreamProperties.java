@@ -0,0 +1,23 @@
+package com.example.rqchallenge.config;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static com.example.rqchallenge.constant.EmployeeConstant.BASE_URL;
+
+@Getter
+@Component
+@ConfigurationProperties(prefix = "employee.upstream")
+public class UpstreamProperties {
+
+    /**
+     * Base URL of the external employee API, for example a local stub when load testing. The API
+     * paths are resolved against it, so a missing trailing slash is added.
+     */
+    private String baseUrl = BASE_URL;
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+}
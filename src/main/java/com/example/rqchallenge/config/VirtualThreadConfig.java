@@ -0,0 +1,44 @@
+package com.example.rqchallenge.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Opt-in virtual thread mode of the servlet stack, enabled with {@code employee.virtual-threads.enabled=true}
+ * on Java 21 or later.
+ * <p>
+ * Tomcat hands every request to a new virtual thread instead of its bounded platform thread pool, so the
+ * upstream and cache db calls made while serving it block a virtual thread only. The number of requests in
+ * flight is then bounded by {@code server.tomcat.max-connections} and the upstream concurrency by the
+ * upstream connection pool, no longer by {@code server.tomcat.threads.max}. Startup fails on an older JVM.
+ * <p>
+ * The executor is deliberately not a bean: an {@link java.util.concurrent.Executor} bean would replace the
+ * auto-configured application task executor.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "employee.virtual-threads", name = "enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class VirtualThreadConfig {
+
+    private final ExecutorService requestExecutor = VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        requestExecutor.shutdown();
+    }
+}
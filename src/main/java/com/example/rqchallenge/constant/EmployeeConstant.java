@@ -10,6 +10,15 @@ public class EmployeeConstant {
     public final static String EMP_NAME = "name";
     public final static String EMP_SAL = "salary";
     public final static String EMP_AGE = "age";
+    public final static String ROSTER_VERSION_HEADER = "X-Roster-Version";
+    public final static String ROSTER_AGE_HEADER = "X-Roster-Age-Millis";
+    public final static String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public final static String OPERATION_LIST = "list";
+    public final static String OPERATION_GET_BY_ID = "get-by-id";
+    public final static String OPERATION_CREATE = "create";
+    public final static String OPERATION_DELETE = "delete";
+    public final static String DEFAULT_SALARY_PERCENTILES = "50,90,99";
+    public final static int DEFAULT_TOP_EARNERS = 10;
 
 
 }
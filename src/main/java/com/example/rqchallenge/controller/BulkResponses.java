@@ -0,0 +1,24 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.model.BulkItemResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class BulkResponses {
+
+    private BulkResponses() {
+    }
+
+    /**
+     * @param results The outcome of each item of a bulk request.
+     * @param success The status of the response if every item succeeded.
+     * @return The results, answered with the success status if every item succeeded and with 207 Multi-Status
+     * otherwise, the status of each item then telling how it failed.
+     */
+    static ResponseEntity<List<BulkItemResult>> of(List<BulkItemResult> results, HttpStatus success) {
+        boolean allSucceeded = results.stream().allMatch(BulkItemResult::isSuccessful);
+        return new ResponseEntity<>(results, allSucceeded ? success : HttpStatus.MULTI_STATUS);
+    }
+}
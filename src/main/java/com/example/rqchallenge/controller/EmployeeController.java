@@ -1,52 +1,166 @@
 package com.example.rqchallenge.controller;
 
+import com.example.rqchallenge.cache.RosterPage;
+import com.example.rqchallenge.cache.RosterSnapshot;
 import com.example.rqchallenge.employees.IEmployeeController;
+import com.example.rqchallenge.model.AgeBandSalaryStats;
+import com.example.rqchallenge.model.BulkItemResult;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
 import com.example.rqchallenge.service.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import java.util.List;
 import java.util.Map;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController implements IEmployeeController {
 
     @Autowired
     public EmployeeService employeeService;
 
+    @Autowired
+    public ObjectMapper objectMapper;
+
     @Override
-    public ResponseEntity<List<Employee>> getAllEmployees() {
+    public ResponseEntity<StreamingResponseBody> getAllEmployees(String limit, String cursor, String ifNoneMatch) {
+        if (limit == null && cursor == null) {
+            RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+            String eTag = EntityTags.of(snapshot, "all");
+            if (EntityTags.matches(ifNoneMatch, eTag)) {
+                return notModified(RosterHeaders.of(snapshot), eTag);
+            }
+            List<Employee> employeeList = employeeService.getAllEmployees(snapshot);
+            return jsonArray(employeeList, RosterHeaders.of(snapshot), eTag);
+        }
+        RosterPage page = employeeService.getAllEmployeesPage(limit, cursor);
+        String eTag = EntityTags.of(page, "all", limit, cursor);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(page.getSnapshot()), eTag);
+        }
+        return jsonArray(page.getEmployees(), RosterHeaders.of(page), eTag);
+    }
 
-        List<Employee> employeeList = employeeService.getAllEmployees();
-        return new ResponseEntity<>(employeeList, HttpStatus.OK);
+    @Override
+    public ResponseEntity<StreamingResponseBody> getEmployeesByNameSearch(String searchString, String limit, String cursor,
+                                                                          String ifNoneMatch) {
+        if (limit == null && cursor == null) {
+            RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+            String eTag = EntityTags.of(snapshot, "search", searchString);
+            if (EntityTags.matches(ifNoneMatch, eTag)) {
+                return notModified(RosterHeaders.of(snapshot), eTag);
+            }
+            List<Employee> employeeList = employeeService.filterEmpNameFromSearchString(snapshot, searchString);
+            return jsonArray(employeeList, RosterHeaders.of(snapshot), eTag);
+        }
+        RosterPage page = employeeService.filterEmpNameFromSearchStringPage(searchString, limit, cursor);
+        String eTag = EntityTags.of(page, "search", searchString, limit, cursor);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(page.getSnapshot()), eTag);
+        }
+        return jsonArray(page.getEmployees(), RosterHeaders.of(page), eTag);
     }
 
     @Override
-    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
-        List<Employee> employeeList = employeeService.filterEmpNameFromSearchString(searchString);
-        return new ResponseEntity<>(employeeList, HttpStatus.OK);
+    public ResponseEntity<List<BulkItemResult>> getEmployeesByIds(String ids) {
+        return BulkResponses.of(employeeService.getEmployeesByIds(ids), HttpStatus.OK);
     }
 
     @Override
-    public ResponseEntity<Employee> getEmployeeById(String id) {
+    public ResponseEntity<Employee> getEmployeeById(String id, String ifNoneMatch) {
         Employee employee = employeeService.getEmployeeDetailsById(id);
-        return new ResponseEntity<>(employee,HttpStatus.OK);
+        String eTag = EntityTags.of(employee);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(new HttpHeaders(), eTag);
+        }
+        return ResponseEntity.ok().eTag(eTag).body(employee);
     }
 
     @Override
-    public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
-        return new ResponseEntity<>(highestSalary,HttpStatus.OK);
+    public ResponseEntity<Integer> getHighestSalaryOfEmployees(String ifNoneMatch) {
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        String eTag = EntityTags.of(snapshot, "highestSalary");
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(snapshot), eTag);
+        }
+        Integer highestSalary = employeeService.getHighestSalaryOfEmployees(snapshot);
+        return ResponseEntity.ok().headers(RosterHeaders.of(snapshot)).eTag(eTag).body(highestSalary);
     }
 
     @Override
-    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        List<String> empNameList = employeeService.getTopTenHighestEarningEmployeeNames();
-        return new ResponseEntity<>(empNameList,HttpStatus.OK);
+    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames(String ifNoneMatch) {
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        String eTag = EntityTags.of(snapshot, "topTenHighestEarningEmployeeNames");
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(snapshot), eTag);
+        }
+        List<String> empNameList = employeeService.getTopTenHighestEarningEmployeeNames(snapshot);
+        return ResponseEntity.ok().headers(RosterHeaders.of(snapshot)).eTag(eTag).body(empNameList);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> getTopEarners(String k, String ifNoneMatch) {
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        String eTag = EntityTags.of(snapshot, "topEarners", k);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(snapshot), eTag);
+        }
+        List<Employee> employeeList = employeeService.getTopEarners(snapshot, k);
+        return jsonArray(employeeList, RosterHeaders.of(snapshot), eTag);
+    }
+
+    @Override
+    public ResponseEntity<List<String>> getTopEarnerNames(String k, String ifNoneMatch) {
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        String eTag = EntityTags.of(snapshot, "topEarnerNames", k);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(snapshot), eTag);
+        }
+        List<String> empNameList = employeeService.getTopEarnerNames(snapshot, k);
+        return ResponseEntity.ok().headers(RosterHeaders.of(snapshot)).eTag(eTag).body(empNameList);
+    }
+
+    @Override
+    public ResponseEntity<Map<String, Integer>> getSalaryPercentiles(String percentiles, String ifNoneMatch) {
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        String eTag = EntityTags.of(snapshot, "salaryPercentiles", percentiles);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(snapshot), eTag);
+        }
+        Map<String, Integer> salaryPercentiles = employeeService.getSalaryPercentiles(snapshot, percentiles);
+        return ResponseEntity.ok().headers(RosterHeaders.of(snapshot)).eTag(eTag).body(salaryPercentiles);
+    }
+
+    @Override
+    public ResponseEntity<List<SalaryHistogramBucket>> getSalaryHistogram(String buckets, String ifNoneMatch) {
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        String eTag = EntityTags.of(snapshot, "salaryHistogram", buckets);
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(snapshot), eTag);
+        }
+        List<SalaryHistogramBucket> histogram = employeeService.getSalaryHistogram(snapshot, buckets);
+        return ResponseEntity.ok().headers(RosterHeaders.of(snapshot)).eTag(eTag).body(histogram);
+    }
+
+    @Override
+    public ResponseEntity<List<AgeBandSalaryStats>> getSalaryStatsByAgeBand(String ifNoneMatch) {
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        String eTag = EntityTags.of(snapshot, "salaryByAgeBand");
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return notModified(RosterHeaders.of(snapshot), eTag);
+        }
+        List<AgeBandSalaryStats> ageBands = employeeService.getSalaryStatsByAgeBand(snapshot);
+        return ResponseEntity.ok().headers(RosterHeaders.of(snapshot)).eTag(eTag).body(ageBands);
     }
 
     @Override
@@ -55,9 +169,34 @@ public class EmployeeController implements IEmployeeController {
         return new ResponseEntity<>(employee,HttpStatus.CREATED);
     }
 
+    @Override
+    public ResponseEntity<List<BulkItemResult>> createEmployees(List<Map<String, Object>> employeeInputs) {
+        return BulkResponses.of(employeeService.createEmployees(employeeInputs), HttpStatus.CREATED);
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         String response = employeeService.deleteEmployeeById(id);
         return new ResponseEntity<>(response,HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<List<BulkItemResult>> deleteEmployeesByIds(List<String> ids) {
+        return BulkResponses.of(employeeService.deleteEmployeesByIds(ids), HttpStatus.OK);
+    }
+
+    private ResponseEntity<StreamingResponseBody> jsonArray(List<Employee> employeeList, HttpHeaders headers, String eTag) {
+        return ResponseEntity.ok()
+                .headers(headers)
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonArrayBody.of(objectMapper, employeeList));
+    }
+
+    /**
+     * Answers a conditional request whose tag still matches, without computing or serializing the body.
+     */
+    private static <T> ResponseEntity<T> notModified(HttpHeaders headers, String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).eTag(eTag).build();
+    }
 }
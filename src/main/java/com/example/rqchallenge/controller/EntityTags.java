@@ -0,0 +1,89 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.cache.EmployeeDigest;
+import com.example.rqchallenge.cache.RosterPage;
+import com.example.rqchallenge.cache.RosterSnapshot;
+import com.example.rqchallenge.model.Employee;
+
+/**
+ * Strong entity tags for the read endpoints.
+ * <p>
+ * Roster backed responses are tagged with the content digest of the snapshot they are served from
+ * combined with the route and its parameters, so the tag can be computed and compared before the
+ * response body is built. Pages also include the snapshot version, which their next-page cursor pins.
+ * The route and parameters are folded into a truncated SHA-256 rather than a {@link String#hashCode()},
+ * so two requests for different representations cannot share a tag.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * @param snapshot The roster snapshot the response is served from.
+     * @param route    The route of the response.
+     * @param params   The request parameters the response depends on; null for absent ones.
+     * @return The strong entity tag of the response, quoted.
+     */
+    static String of(RosterSnapshot snapshot, String route, String... params) {
+        return "\"" + snapshot.getContentDigest() + "-" + keyHash(route, params) + "\"";
+    }
+
+    /**
+     * A page and its next-page cursor change with the snapshot version even if a refresh brought back the
+     * same content, so a client revalidating a page never keeps a cursor to a version about to expire.
+     *
+     * @param page   The page the response is served from.
+     * @param route  The route of the response.
+     * @param params The request parameters the response depends on; null for absent ones.
+     * @return The strong entity tag of the response, quoted.
+     */
+    static String of(RosterPage page, String route, String... params) {
+        RosterSnapshot snapshot = page.getSnapshot();
+        return "\"" + snapshot.getContentDigest() + "-" + Long.toHexString(snapshot.getVersion()) + "-"
+                + keyHash(route, params) + "\"";
+    }
+
+    /**
+     * @param employee The employee the response is made of.
+     * @return The strong entity tag of the response, quoted.
+     */
+    static String of(Employee employee) {
+        return "\"" + EmployeeDigest.of(employee) + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the current tag of a resource, using the weak
+     * comparison required for GET and HEAD requests.
+     *
+     * @param ifNoneMatch The header value, possibly listing several tags; null if the header is absent.
+     * @param eTag        The current entity tag.
+     * @return Whether the client already has the current representation.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || opaque(candidate).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String keyHash(String route, String... params) {
+        StringBuilder key = new StringBuilder(route);
+        for (String param : params) {
+            // absent and empty parameters must not share a key
+            key.append('\u0000').append(param == null ? "\u0001" : param);
+        }
+        return EmployeeDigest.ofKey(key.toString());
+    }
+
+    private static String opaque(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.rqchallenge.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+final class JsonArrayBody {
+
+    private JsonArrayBody() {
+    }
+
+    /**
+     * Serializes the elements one by one straight into the response, so that neither the JSON document
+     * nor a copy of the list is ever held in memory. The body is written on the streaming executor of
+     * {@link com.example.rqchallenge.config.StreamingResponseConfig}.
+     *
+     * @param objectMapper The mapper configured for the application.
+     * @param elements     The elements of the JSON array.
+     * @return A response body writing the elements as a JSON array.
+     */
+    static StreamingResponseBody of(ObjectMapper objectMapper, List<?> elements) {
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try (JsonGenerator json = generator) {
+                json.writeStartArray();
+                for (Object element : elements) {
+                    json.writeObject(element);
+                }
+                json.writeEndArray();
+            }
+        };
+    }
+}
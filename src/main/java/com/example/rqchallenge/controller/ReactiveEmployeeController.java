@@ -0,0 +1,161 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.cache.RosterPage;
+import com.example.rqchallenge.employees.IReactiveEmployeeController;
+import com.example.rqchallenge.model.AgeBandSalaryStats;
+import com.example.rqchallenge.model.BulkItemResult;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.service.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController implements IReactiveEmployeeController {
+
+    @Autowired
+    public ReactiveEmployeeService reactiveEmployeeService;
+
+    @Autowired
+    public EmployeeService employeeService;
+
+    @Override
+    public Mono<ResponseEntity<Flux<Employee>>> getAllEmployees(String limit, String cursor, String ifNoneMatch) {
+        if (limit == null && cursor == null) {
+            return reactiveEmployeeService.getRosterSnapshot()
+                    .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "all"), RosterHeaders.of(snapshot),
+                            () -> Flux.fromIterable(employeeService.getAllEmployees(snapshot))));
+        }
+        return reactiveEmployeeService.getAllEmployeesPage(limit, cursor)
+                .map(page -> conditional(ifNoneMatch, EntityTags.of(page, "all", limit, cursor),
+                        page, () -> Flux.fromIterable(page.getEmployees())));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<Employee>>> getEmployeesByNameSearch(String searchString, String limit, String cursor,
+                                                                        String ifNoneMatch) {
+        if (limit == null && cursor == null) {
+            return reactiveEmployeeService.getRosterSnapshot()
+                    .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "search", searchString),
+                            RosterHeaders.of(snapshot),
+                            () -> Flux.fromIterable(employeeService.filterEmpNameFromSearchString(snapshot, searchString))));
+        }
+        return reactiveEmployeeService.filterEmpNameFromSearchStringPage(searchString, limit, cursor)
+                .map(page -> conditional(ifNoneMatch, EntityTags.of(page, "search", searchString, limit, cursor),
+                        page, () -> Flux.fromIterable(page.getEmployees())));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<BulkItemResult>>> getEmployeesByIds(String ids) {
+        return reactiveEmployeeService.getEmployeesByIds(ids)
+                .map(results -> BulkResponses.of(results, HttpStatus.OK));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Employee>> getEmployeeById(String id, String ifNoneMatch) {
+        return reactiveEmployeeService.getEmployeeDetailsById(id)
+                .map(employee -> conditional(ifNoneMatch, EntityTags.of(employee), new HttpHeaders(), () -> employee));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees(String ifNoneMatch) {
+        return reactiveEmployeeService.getRosterSnapshot()
+                .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "highestSalary"), RosterHeaders.of(snapshot),
+                        () -> employeeService.getHighestSalaryOfEmployees(snapshot)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames(String ifNoneMatch) {
+        return reactiveEmployeeService.getRosterSnapshot()
+                .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "topTenHighestEarningEmployeeNames"),
+                        RosterHeaders.of(snapshot), () -> employeeService.getTopTenHighestEarningEmployeeNames(snapshot)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<Employee>>> getTopEarners(String k, String ifNoneMatch) {
+        return reactiveEmployeeService.getRosterSnapshot()
+                .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "topEarners", k), RosterHeaders.of(snapshot),
+                        () -> Flux.fromIterable(employeeService.getTopEarners(snapshot, k))));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getTopEarnerNames(String k, String ifNoneMatch) {
+        return reactiveEmployeeService.getRosterSnapshot()
+                .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "topEarnerNames", k),
+                        RosterHeaders.of(snapshot), () -> employeeService.getTopEarnerNames(snapshot, k)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Map<String, Integer>>> getSalaryPercentiles(String percentiles, String ifNoneMatch) {
+        return reactiveEmployeeService.getRosterSnapshot()
+                .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "salaryPercentiles", percentiles),
+                        RosterHeaders.of(snapshot), () -> employeeService.getSalaryPercentiles(snapshot, percentiles)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<SalaryHistogramBucket>>> getSalaryHistogram(String buckets, String ifNoneMatch) {
+        return reactiveEmployeeService.getRosterSnapshot()
+                .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "salaryHistogram", buckets),
+                        RosterHeaders.of(snapshot), () -> employeeService.getSalaryHistogram(snapshot, buckets)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<AgeBandSalaryStats>>> getSalaryStatsByAgeBand(String ifNoneMatch) {
+        return reactiveEmployeeService.getRosterSnapshot()
+                .map(snapshot -> conditional(ifNoneMatch, EntityTags.of(snapshot, "salaryByAgeBand"),
+                        RosterHeaders.of(snapshot), () -> employeeService.getSalaryStatsByAgeBand(snapshot)));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Employee>> createEmployee(Map<String, Object> employeeInput) {
+        return reactiveEmployeeService.createEmployee(employeeInput)
+                .map(employee -> new ResponseEntity<>(employee,HttpStatus.CREATED));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<BulkItemResult>>> createEmployees(List<Map<String, Object>> employeeInputs) {
+        return reactiveEmployeeService.createEmployees(employeeInputs)
+                .map(results -> BulkResponses.of(results, HttpStatus.CREATED));
+    }
+
+    @Override
+    public Mono<ResponseEntity<String>> deleteEmployeeById(String id) {
+        return reactiveEmployeeService.deleteEmployeeById(id)
+                .map(response -> new ResponseEntity<>(response,HttpStatus.OK));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<BulkItemResult>>> deleteEmployeesByIds(List<String> ids) {
+        return reactiveEmployeeService.deleteEmployeesByIds(ids)
+                .map(results -> BulkResponses.of(results, HttpStatus.OK));
+    }
+
+    /**
+     * Answers 304 if the tag still matches, otherwise builds the body and answers 200.
+     */
+    private static <T> ResponseEntity<T> conditional(String ifNoneMatch, String eTag, HttpHeaders headers, Supplier<T> body) {
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(body.get());
+    }
+
+    private static <T> ResponseEntity<T> conditional(String ifNoneMatch, String eTag, RosterPage page, Supplier<T> body) {
+        if (EntityTags.matches(ifNoneMatch, eTag)) {
+            return conditional(ifNoneMatch, eTag, RosterHeaders.of(page.getSnapshot()), body);
+        }
+        return ResponseEntity.ok().headers(RosterHeaders.of(page)).eTag(eTag).body(body.get());
+    }
+}
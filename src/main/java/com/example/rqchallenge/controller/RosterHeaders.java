@@ -0,0 +1,36 @@
+package com.example.rqchallenge.controller;
+
+import com.example.rqchallenge.cache.RosterPage;
+import com.example.rqchallenge.cache.RosterSnapshot;
+import org.springframework.http.HttpHeaders;
+
+import static com.example.rqchallenge.constant.EmployeeConstant.*;
+
+final class RosterHeaders {
+
+    private RosterHeaders() {
+    }
+
+    /**
+     * @param snapshot The roster snapshot a response was served from.
+     * @return Headers exposing the version and age of the snapshot.
+     */
+    static HttpHeaders of(RosterSnapshot snapshot) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ROSTER_VERSION_HEADER, String.valueOf(snapshot.getVersion()));
+        headers.set(ROSTER_AGE_HEADER, String.valueOf(snapshot.getAge().toMillis()));
+        return headers;
+    }
+
+    /**
+     * @param page The page a response was served from.
+     * @return Headers exposing the snapshot of the page and the cursor of the next page, if any.
+     */
+    static HttpHeaders of(RosterPage page) {
+        HttpHeaders headers = of(page.getSnapshot());
+        if (page.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return headers;
+    }
+}
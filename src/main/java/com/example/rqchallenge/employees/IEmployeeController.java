@@ -1,8 +1,13 @@
 package com.example.rqchallenge.employees;
 
+import com.example.rqchallenge.model.AgeBandSalaryStats;
+import com.example.rqchallenge.model.BulkItemResult;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -12,24 +17,61 @@ import java.util.Map;
 public interface IEmployeeController {
 
     @GetMapping()
-    ResponseEntity<List<Employee>> getAllEmployees() throws IOException;
+    ResponseEntity<StreamingResponseBody> getAllEmployees(@RequestParam(required = false) String limit,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException;
 
     @GetMapping("/search/{searchString}")
-    ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString);
+    ResponseEntity<StreamingResponseBody> getEmployeesByNameSearch(@PathVariable String searchString,
+                                                                   @RequestParam(required = false) String limit,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/byIds")
+    ResponseEntity<List<BulkItemResult>> getEmployeesByIds(@RequestParam(required = false) String ids);
 
     @GetMapping("/{id}")
-    ResponseEntity<Employee> getEmployeeById(@PathVariable String id);
+    ResponseEntity<Employee> getEmployeeById(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @GetMapping("/highestSalary")
-    ResponseEntity<Integer> getHighestSalaryOfEmployees();
+    ResponseEntity<Integer> getHighestSalaryOfEmployees(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @GetMapping("/topTenHighestEarningEmployeeNames")
-    ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames();
+    ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/topEarners")
+    ResponseEntity<StreamingResponseBody> getTopEarners(@RequestParam(required = false) String k,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/topEarners/names")
+    ResponseEntity<List<String>> getTopEarnerNames(@RequestParam(required = false) String k,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/salaryPercentiles")
+    ResponseEntity<Map<String, Integer>> getSalaryPercentiles(@RequestParam(required = false) String percentiles,
+                                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/salaryHistogram")
+    ResponseEntity<List<SalaryHistogramBucket>> getSalaryHistogram(@RequestParam(required = false) String buckets,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/salaryByAgeBand")
+    ResponseEntity<List<AgeBandSalaryStats>> getSalaryStatsByAgeBand(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @PostMapping()
     ResponseEntity<Employee> createEmployee(@RequestBody Map<String, Object> employeeInput);
 
+    @PostMapping("/bulk")
+    ResponseEntity<List<BulkItemResult>> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs);
+
     @DeleteMapping("/{id}")
     ResponseEntity<String> deleteEmployeeById(@PathVariable String id);
 
+    @DeleteMapping("/bulk")
+    ResponseEntity<List<BulkItemResult>> deleteEmployeesByIds(@RequestBody List<String> ids);
+
 }
@@ -0,0 +1,81 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.model.AgeBandSalaryStats;
+import com.example.rqchallenge.model.BulkItemResult;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking mirror of {@link IEmployeeController}, serving the same routes and JSON contracts
+ * when the application runs with {@code spring.main.web-application-type=reactive}.
+ */
+@RestController
+public interface IReactiveEmployeeController {
+
+    @GetMapping()
+    Mono<ResponseEntity<Flux<Employee>>> getAllEmployees(@RequestParam(required = false) String limit,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/search/{searchString}")
+    Mono<ResponseEntity<Flux<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString,
+                                                                  @RequestParam(required = false) String limit,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/byIds")
+    Mono<ResponseEntity<List<BulkItemResult>>> getEmployeesByIds(@RequestParam(required = false) String ids);
+
+    @GetMapping("/{id}")
+    Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/highestSalary")
+    Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/topEarners")
+    Mono<ResponseEntity<Flux<Employee>>> getTopEarners(@RequestParam(required = false) String k,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/topEarners/names")
+    Mono<ResponseEntity<List<String>>> getTopEarnerNames(@RequestParam(required = false) String k,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/salaryPercentiles")
+    Mono<ResponseEntity<Map<String, Integer>>> getSalaryPercentiles(@RequestParam(required = false) String percentiles,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/salaryHistogram")
+    Mono<ResponseEntity<List<SalaryHistogramBucket>>> getSalaryHistogram(@RequestParam(required = false) String buckets,
+                                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @GetMapping("/salaryByAgeBand")
+    Mono<ResponseEntity<List<AgeBandSalaryStats>>> getSalaryStatsByAgeBand(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
+
+    @PostMapping()
+    Mono<ResponseEntity<Employee>> createEmployee(@RequestBody Map<String, Object> employeeInput);
+
+    @PostMapping("/bulk")
+    Mono<ResponseEntity<List<BulkItemResult>>> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs);
+
+    @DeleteMapping("/{id}")
+    Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id);
+
+    @DeleteMapping("/bulk")
+    Mono<ResponseEntity<List<BulkItemResult>>> deleteEmployeesByIds(@RequestBody List<String> ids);
+
+}
@@ -1,5 +1,7 @@
 package com.example.rqchallenge.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -10,29 +12,56 @@ import org.springframework.web.client.HttpClientErrorException;
 @ControllerAdvice
 public class EmployeeExceptionController {
 
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    public EmployeeExceptionController(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(NumberFormatException.class)
     public ResponseEntity<String> handleNumberFormatException(NumberFormatException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        return respond(NumberFormatException.class, HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(EmployeeDataNotFoundException.class)
     public ResponseEntity<String> handleEmployeeDataNotFoundException(EmployeeDataNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        return respond(EmployeeDataNotFoundException.class, HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        return respond(IllegalArgumentException.class, HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
 
     @ExceptionHandler(HttpClientErrorException.class)
     public ResponseEntity<String> handleHttpClientErrorException(HttpClientErrorException ex) {
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Too many request API hits");
+        return respond(HttpClientErrorException.class, HttpStatus.TOO_MANY_REQUESTS, "Too many request API hits");
+    }
+
+    @ExceptionHandler(RosterCursorExpiredException.class)
+    public ResponseEntity<String> handleRosterCursorExpiredException(RosterCursorExpiredException ex) {
+        return respond(RosterCursorExpiredException.class, HttpStatus.GONE, ex.getMessage());
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<String> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        return respond(UpstreamUnavailableException.class, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGlobalException(Exception ex) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
+        return respond(Exception.class, HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+    }
+
+    /**
+     * Counts the exception by the type its handler is mapped to, rather than by its own class, so that
+     * the counters stay one per handler however many subclasses are thrown.
+     */
+    private ResponseEntity<String> respond(Class<? extends Exception> handledType, HttpStatus status, String body) {
+        meterRegistry.counter("employee.exceptions", "exception", handledType.getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+        return ResponseEntity.status(status).body(body);
     }
 }
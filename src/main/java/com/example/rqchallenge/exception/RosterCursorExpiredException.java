@@ -0,0 +1,10 @@
+package com.example.rqchallenge.exception;
+
+public class RosterCursorExpiredException extends RuntimeException{
+
+    public RosterCursorExpiredException(String message) {
+        super(message);
+    }
+
+
+}
@@ -0,0 +1,14 @@
+package com.example.rqchallenge.exception;
+
+/**
+ * Raised when the external API answers a read by id without employee data, which confirms that the
+ * employee does not exist rather than that it could not be read.
+ * <p>
+ * It is an {@link EmployeeDataNotFoundException}, so callers and the error responses treat it alike.
+ */
+public class UpstreamDataNotFoundException extends EmployeeDataNotFoundException {
+
+    public UpstreamDataNotFoundException(String message) {
+        super(message);
+    }
+}
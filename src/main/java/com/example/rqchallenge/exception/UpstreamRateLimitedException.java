@@ -0,0 +1,19 @@
+package com.example.rqchallenge.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Raised when the client-side rate limiter rejects an upstream call before it is sent.
+ * <p>
+ * It is a 429 {@link HttpClientErrorException}, so callers treat it exactly like a throttling
+ * response of the upstream.
+ */
+public class UpstreamRateLimitedException extends HttpClientErrorException {
+
+    public UpstreamRateLimitedException(String message) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+    }
+
+
+}
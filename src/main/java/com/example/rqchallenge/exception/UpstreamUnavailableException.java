@@ -0,0 +1,10 @@
+package com.example.rqchallenge.exception;
+
+public class UpstreamUnavailableException extends RuntimeException{
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+
+}
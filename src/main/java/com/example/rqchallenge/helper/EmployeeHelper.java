@@ -1,8 +1,25 @@
 package com.example.rqchallenge.helper;
 
+import com.example.rqchallenge.cache.CacheDbWriter;
+import com.example.rqchallenge.cache.EmployeeDigest;
+import com.example.rqchallenge.cache.RosterColumns;
+import com.example.rqchallenge.config.BulkProperties;
+import com.example.rqchallenge.config.CircuitBreakerProperties;
+import com.example.rqchallenge.config.RateLimiterProperties;
+import com.example.rqchallenge.config.UpstreamProperties;
 import com.example.rqchallenge.exception.EmployeeDataNotFoundException;
+import com.example.rqchallenge.exception.UpstreamDataNotFoundException;
+import com.example.rqchallenge.exception.UpstreamRateLimitedException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
 import com.example.rqchallenge.model.*;
 import com.example.rqchallenge.repository.EmployeeRepository;
+import com.example.rqchallenge.upstream.CircuitBreaker;
+import com.example.rqchallenge.upstream.RateLimiter;
+import com.example.rqchallenge.upstream.SingleFlight;
+import com.example.rqchallenge.upstream.UpstreamTimer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
@@ -12,13 +29,18 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
-
-import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static com.example.rqchallenge.constant.EmployeeConstant.*;
 
@@ -30,15 +52,116 @@ public class EmployeeHelper {
 
     EmployeeRepository employeeRepository;
 
+    CacheDbWriter cacheDbWriter;
+
+    SingleFlight<String, FetchedRoster> employeeListFlight;
+
+    SingleFlight<String, Employee> employeeDetailsFlight;
+
+    CircuitBreaker listBreaker;
+
+    CircuitBreaker detailsBreaker;
+
+    CircuitBreaker createBreaker;
+
+    CircuitBreaker deleteBreaker;
+
+    RateLimiter listLimiter;
+
+    RateLimiter detailsLimiter;
+
+    RateLimiter createLimiter;
+
+    RateLimiter deleteLimiter;
+
+    UpstreamTimer listTimer;
+
+    UpstreamTimer detailsTimer;
+
+    UpstreamTimer createTimer;
+
+    UpstreamTimer deleteTimer;
+
+    MeterRegistry meterRegistry;
+
+    Counter notModifiedRosters;
+
+    Counter unchangedRosters;
+
+    String baseUrl;
+
+    BulkProperties bulkProperties;
+
+    ThreadPoolExecutor detailsExecutor;
+
+    ThreadPoolExecutor createExecutor;
+
+    ThreadPoolExecutor deleteExecutor;
+
+    private volatile UpstreamRoster lastRoster;
+
     @Autowired
-    public EmployeeHelper(RestTemplate restTemplate, EmployeeRepository employeeRepository) {
+    public EmployeeHelper(RestTemplate restTemplate, EmployeeRepository employeeRepository, CacheDbWriter cacheDbWriter,
+                          CircuitBreakerProperties circuitBreakerProperties, RateLimiterProperties rateLimiterProperties,
+                          MeterRegistry meterRegistry, UpstreamProperties upstreamProperties,
+                          BulkProperties bulkProperties) {
         this.restTemplate = restTemplate;
+        this.baseUrl = upstreamProperties.getBaseUrl();
         this.employeeRepository = employeeRepository;
+        this.cacheDbWriter = cacheDbWriter;
+        this.employeeListFlight = new SingleFlight<>(OPERATION_LIST, meterRegistry);
+        this.employeeDetailsFlight = new SingleFlight<>(OPERATION_GET_BY_ID, meterRegistry);
+        this.listBreaker = new CircuitBreaker(OPERATION_LIST, circuitBreakerProperties, meterRegistry);
+        this.detailsBreaker = new CircuitBreaker(OPERATION_GET_BY_ID, circuitBreakerProperties, meterRegistry);
+        this.createBreaker = new CircuitBreaker(OPERATION_CREATE, circuitBreakerProperties, meterRegistry);
+        this.deleteBreaker = new CircuitBreaker(OPERATION_DELETE, circuitBreakerProperties, meterRegistry);
+        this.listLimiter = new RateLimiter(OPERATION_LIST, rateLimiterProperties, meterRegistry);
+        this.detailsLimiter = new RateLimiter(OPERATION_GET_BY_ID, rateLimiterProperties, meterRegistry);
+        this.createLimiter = new RateLimiter(OPERATION_CREATE, rateLimiterProperties, meterRegistry);
+        this.deleteLimiter = new RateLimiter(OPERATION_DELETE, rateLimiterProperties, meterRegistry);
+        this.listTimer = new UpstreamTimer(OPERATION_LIST, meterRegistry);
+        this.detailsTimer = new UpstreamTimer(OPERATION_GET_BY_ID, meterRegistry);
+        this.createTimer = new UpstreamTimer(OPERATION_CREATE, meterRegistry);
+        this.deleteTimer = new UpstreamTimer(OPERATION_DELETE, meterRegistry);
+        this.meterRegistry = meterRegistry;
+        this.notModifiedRosters = Counter.builder("employee.roster.refresh.skipped")
+                .description("Employee list fetches that found the roster unchanged and skipped persistence")
+                .tag("reason", "not-modified")
+                .register(meterRegistry);
+        this.unchangedRosters = Counter.builder("employee.roster.refresh.skipped")
+                .description("Employee list fetches that found the roster unchanged and skipped persistence")
+                .tag("reason", "unchanged-digest")
+                .register(meterRegistry);
+        this.bulkProperties = bulkProperties;
+        // each bulk operation has its own threads, so a large batch of one cannot hold up the others
+        this.detailsExecutor = bulkExecutor(OPERATION_GET_BY_ID, bulkProperties);
+        this.createExecutor = bulkExecutor(OPERATION_CREATE, bulkProperties);
+        this.deleteExecutor = bulkExecutor(OPERATION_DELETE, bulkProperties);
+    }
+
+    private static ThreadPoolExecutor bulkExecutor(String operation, BulkProperties bulkProperties) {
+        AtomicInteger bulkThreads = new AtomicInteger();
+        int concurrency = Math.max(1, bulkProperties.getUpstreamConcurrency());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "upstream-" + operation + "-" + bulkThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public EmployeeHelper(RestTemplate restTemplate, EmployeeRepository employeeRepository, CacheDbWriter cacheDbWriter,
+                          CircuitBreakerProperties circuitBreakerProperties, RateLimiterProperties rateLimiterProperties,
+                          MeterRegistry meterRegistry) {
+        this(restTemplate, employeeRepository, cacheDbWriter, circuitBreakerProperties, rateLimiterProperties,
+                meterRegistry, new UpstreamProperties(), new BulkProperties());
     }
 
-    @PostConstruct
-    public void init(){
-        fetchAllEmployeeData();
+    public EmployeeHelper(RestTemplate restTemplate, EmployeeRepository employeeRepository) {
+        this(restTemplate, employeeRepository, new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(),
+                new RateLimiterProperties(), new SimpleMeterRegistry());
     }
 
 
@@ -49,14 +172,39 @@ public class EmployeeHelper {
         return new HttpEntity<>(headers);
     }
 
+    private HttpEntity getListEntity(UpstreamRoster previous) {
+        HttpEntity entity = getEntity();
+        if (previous == null || (previous.eTag == null && previous.lastModified < 0)) {
+            return entity;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(entity.getHeaders());
+        if (previous.eTag != null) {
+            headers.setIfNoneMatch(previous.eTag);
+        }
+        if (previous.lastModified >= 0) {
+            headers.setIfModifiedSince(previous.lastModified);
+        }
+        return new HttpEntity<>(headers);
+    }
+
 
     /**
      * Fetches the list of all employees from an external API.
      * <p>
      * This method sends a GET request to the external API, retrieves the list of employees,
-     * converts them to Employee entities, and saves them into a cache database.
+     * parses them straight into Employee entities as the body streams in, and saves them into a cache database.
      * If the API response is empty or null, an EmployeeDataNotFoundException is thrown.
      * If there's an HTTP client or server error, the method falls back to fetching data from the cache database.
+     * While the circuit breaker of the list operation is open the upstream is skipped and the cache database
+     * is read right away. Requests are paced by the client-side rate limiter, which rejects a request it cannot
+     * admit in time with a 429 that is handled like one from the upstream. Concurrent callers share a single
+     * in-flight request and its result or failure.
+     * <p>
+     * The request is conditional on the ETag and Last-Modified of the last roster, if the external API sent them,
+     * and the data of every response is compared with the last roster by its content digest. An unchanged roster
+     * is not saved again and the employee list of the last fetch is returned in place of the new one. Use
+     * {@link #fetchRoster()} to learn the digest of the returned list.
      *
      * @return A List of Employee objects containing details of all employees fetched from the external API or cache.
      * @throws EmployeeDataNotFoundException If no employee data is found in the external API response.
@@ -69,24 +217,64 @@ public class EmployeeHelper {
      *
      */
     public List<Employee> fetchAllEmployeeData() {
+        return fetchRoster().getEmployees();
+    }
+
+    /**
+     * Fetches the list of all employees like {@link #fetchAllEmployeeData()}, together with its content
+     * digest, so a caller can tell an unchanged roster from a changed one without relying on the identity
+     * of the returned list.
+     *
+     * @return The employees and their {@link EmployeeDigest}; the digest is null if the employees were read
+     * from the cache db.
+     */
+    public FetchedRoster fetchRoster() {
+        String url = baseUrl+FETCH_ALL_EMPLOYEES;
+        return employeeListFlight.execute(url, () -> requestAllEmployeeData(url));
+    }
+
+    private FetchedRoster requestAllEmployeeData(String url) {
         try {
             log.info("Fetching the employee list from the external API and saving the response in cache db");
-            String url = BASE_URL+FETCH_ALL_EMPLOYEES;
-            ResponseEntity<EmployeeListResponse> response = restTemplate
-                    .exchange(url, HttpMethod.GET,getEntity(), EmployeeListResponse.class);
-            EmployeeListResponse employeeListResponse = response.getBody();
-            if(employeeListResponse ==null || CollectionUtils.isEmpty(employeeListResponse.getData())) {
+            UpstreamRoster previous = lastRoster;
+            ResponseEntity<EmployeeRosterResponse> response = listTimer.execute(() -> listBreaker.execute(() -> listLimiter.execute(() -> restTemplate
+                    .exchange(url, HttpMethod.GET,getListEntity(previous), EmployeeRosterResponse.class))));
+            if (previous != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                log.info("Employee list not modified on the external API, keeping the last {} employees",
+                        previous.columns.size());
+                notModifiedRosters.increment();
+                return new FetchedRoster(previous.columns.asList(), previous.digest);
+            }
+            EmployeeRosterResponse employeeRosterResponse = response.getBody();
+            if(employeeRosterResponse ==null || CollectionUtils.isEmpty(employeeRosterResponse.getData())) {
                 throw new EmployeeDataNotFoundException("Data Not Found");
             }
-            log.info("converting employee model class to employee entity class");
-            List<Employee> employeeList = employeeListResponse.getData().stream()
-                    .map(EmployeeModel::convertEmployeeModelToEmployee)
-                    .collect(Collectors.toList());
-            saveEmployeeListIntoCacheDb(employeeList);
-            return employeeList;
+            List<Employee> employeeList = employeeRosterResponse.getData();
+            String digest = EmployeeDigest.of(employeeList);
+            if (previous != null && previous.digest.equals(digest)) {
+                log.info("Employee list unchanged on the external API, keeping the last {} employees",
+                        previous.columns.size());
+                unchangedRosters.increment();
+                lastRoster = new UpstreamRoster(digest, response.getHeaders(), previous.columns);
+                return new FetchedRoster(previous.columns.asList(), digest);
+            }
+            // a roster that could not be saved must not be skipped next time, or the cache db would stay stale
+            if (!saveEmployeeListIntoCacheDb(employeeList)) {
+                lastRoster = null;
+                return new FetchedRoster(employeeList, digest);
+            }
+            // keep the roster as columns, which the roster snapshot built from the returned list then shares
+            RosterColumns columns = RosterColumns.of(employeeList);
+            lastRoster = new UpstreamRoster(digest, response.getHeaders(), columns);
+            return new FetchedRoster(columns.asList(), digest);
         } catch (HttpClientErrorException | HttpServerErrorException he) {
             log.error("Error occurred while fetching employee list from the external API, so now fetching from in-cache db ",he);
-            return fetchEmployeeListFromInCacheDb();
+            countCacheDbFallback(OPERATION_LIST, he);
+            return new FetchedRoster(fetchEmployeeListFromInCacheDb(), null);
+        } catch (UpstreamUnavailableException ue) {
+            log.warn("{}, so now fetching from in-cache db",ue.getMessage());
+            countCacheDbFallback(OPERATION_LIST, ue);
+            return new FetchedRoster(fetchEmployeeListFromInCacheDb(), null);
         } catch (EmployeeDataNotFoundException ee) {
             log.error("Employee details not found",ee);
             throw ee;
@@ -96,15 +284,26 @@ public class EmployeeHelper {
         }
     }
 
-    private void saveEmployeeListIntoCacheDb(List<Employee> employeeList) {
+    private boolean saveEmployeeListIntoCacheDb(List<Employee> employeeList) {
         try{
             log.info("Saving the employee list in in-cache db");
-            employeeRepository.saveAll(employeeList);
+            cacheDbWriter.saveAll(employeeList);
+            return true;
         } catch (Exception e) {
             log.error("Error occurred while saving the employee list into in-cache db ",e);
+            return false;
         }
     }
 
+    private void countCacheDbFallback(String operation, RuntimeException cause) {
+        meterRegistry.counter("employee.cache-db.fallbacks", "operation", operation,
+                "reason", UpstreamTimer.outcomeOf(cause)).increment();
+    }
+
+    private void countCacheDbBatchFailure(String operation) {
+        meterRegistry.counter("employee.cache-db.batch-failures", "operation", operation).increment();
+    }
+
     private List<Employee> fetchEmployeeListFromInCacheDb() {
         try{
             log.info("Fetching all employee list from the in-cache db");
@@ -121,7 +320,9 @@ public class EmployeeHelper {
      * This method sends a GET request to the external API with the provided employee ID,
      * retrieves the employee details, saves them into a cache database. If the API response is empty or null,
      * an EmployeeDataNotFoundException is thrown. If there's an HTTP client or server error,
-     * the method falls back to fetching data from the cache database.
+     * the method falls back to fetching data from the cache database, which is also read right away while the
+     * circuit breaker of the get-by-id operation is open or the client-side rate limiter rejects the request.
+     * Concurrent callers asking for the same ID share a single in-flight request and its result or failure.
      *
      * @param id The ID of the employee whose details are to be fetched. Must not be null.
      * @return The Employee object containing details of the employee fetched from the external API or cache.
@@ -135,21 +336,24 @@ public class EmployeeHelper {
      *
      */
     public Employee fetchEmployeeDetailsById(Integer id) {
+        String url =baseUrl+FETCH_EMPLOYEE_DETAILS_BY_ID+id;
+        return employeeDetailsFlight.execute(url, () -> requestEmployeeDetailsById(id));
+    }
+
+    private Employee requestEmployeeDetailsById(Integer id) {
         try{
-            String url =BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+id;
-            ResponseEntity<EmployeeResponse> response = restTemplate
-                    .exchange(url, HttpMethod.GET,getEntity(), EmployeeResponse.class);
-            EmployeeResponse employeeResponse = response.getBody();
-            if(employeeResponse == null || employeeResponse.getData()==null) {
-                throw new EmployeeDataNotFoundException("Data Not Found");
-            }
+            Employee employee = requestEmployeeDetails(id, null);
             log.info("Data for id {} found on external API",id);
-            Employee employee = EmployeeModel.convertEmployeeModelToEmployee(employeeResponse.getData());
             saveEmployeeIntoCacheDb(employee);
             return employee;
         } catch (HttpClientErrorException | HttpServerErrorException he) {
             log.error("Error occurred while fetching employee details from the external API for Id {}, " +
                     "so now fetching from in-cache db: {} ",id,he);
+            countCacheDbFallback(OPERATION_GET_BY_ID, he);
+            return fetchEmployeeDetailsFromInCacheDb(id);
+        } catch (UpstreamUnavailableException ue) {
+            log.warn("{}, so now fetching employee details for Id {} from in-cache db",ue.getMessage(),id);
+            countCacheDbFallback(OPERATION_GET_BY_ID, ue);
             return fetchEmployeeDetailsFromInCacheDb(id);
         } catch (EmployeeDataNotFoundException ee) {
             log.error("Employee details for Id {} not found {}",id,ee);
@@ -160,6 +364,77 @@ public class EmployeeHelper {
         }
     }
 
+    /**
+     * Fetches the details of several employees, reading the cache db once for all of them and the external
+     * API only for the ones it does not hold, with the same bounded concurrency as {@link #createEmployees(List)}
+     * on threads that bulk writes do not use. Each upstream call goes through the get-by-id circuit breaker like
+     * a single fetch and is paced to the get-by-id rate limiter; a fetch without a permit within
+     * {@code employee.bulk.max-wait} of the start of the request fails with {@link UpstreamRateLimitedException}.
+     * It has no cache db fallback, the cache db having been read already; the fetched employees are saved into
+     * the cache db in one batch.
+     *
+     * @param ids The ids of the employees to fetch, without repetitions.
+     * @return The outcome of each fetch by id, in the order of the ids, all of them completed; an id the
+     * external API has no data for fails with {@link EmployeeDataNotFoundException}.
+     */
+    public Map<Integer, CompletableFuture<Employee>> fetchEmployeesByIds(List<Integer> ids) {
+        long deadline = System.nanoTime() + bulkProperties.getMaxWait().toNanos();
+        Map<Integer, CompletableFuture<Employee>> fetches = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            fetches.put(id, null);
+        }
+        try {
+            for (Employee employee : employeeRepository.findAllById(ids)) {
+                fetches.put(employee.getId(), CompletableFuture.completedFuture(employee));
+            }
+        } catch (Exception e) {
+            log.error("Error occurred while retrieving employee details from cache db, fetching all of them from the external API",e);
+        }
+        List<CompletableFuture<Employee>> requests = new ArrayList<>();
+        fetches.replaceAll((id, fetch) -> {
+            if (fetch != null) {
+                return fetch;
+            }
+            CompletableFuture<Employee> request = CompletableFuture.supplyAsync(() -> requestEmployeeDetails(id, deadline), detailsExecutor);
+            requests.add(request);
+            return request;
+        });
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0])).handle((ignored, e) -> null).join();
+        List<Employee> fetched = new ArrayList<>(requests.size());
+        for (CompletableFuture<Employee> request : requests) {
+            if (!request.isCompletedExceptionally()) {
+                fetched.add(request.join());
+            }
+        }
+        if (!fetched.isEmpty()) {
+            try {
+                cacheDbWriter.saveBatch(fetched);
+            } catch (Exception e) {
+                log.error("Error occurred while saving the employee details into the in-cache db",e);
+            }
+        }
+        log.info("Fetched {} employee records, {} from cache db and {} of {} from the external API",
+                ids.size(), ids.size() - requests.size(), fetched.size(), requests.size());
+        return fetches;
+    }
+
+    /**
+     * @param deadline The {@link System#nanoTime()} by which a fetch of a multi-get has to get its permit,
+     *                 or null for a single fetch, which waits no longer than the rate limiter max-wait.
+     */
+    private Employee requestEmployeeDetails(Integer id, Long deadline) {
+        String url = baseUrl+FETCH_EMPLOYEE_DETAILS_BY_ID+id;
+        Supplier<ResponseEntity<EmployeeResponse>> exchange = () -> restTemplate
+                .exchange(url, HttpMethod.GET,getEntity(), EmployeeResponse.class);
+        ResponseEntity<EmployeeResponse> response = detailsTimer.execute(() -> detailsBreaker.execute(
+                () -> deadline == null ? detailsLimiter.execute(exchange) : detailsLimiter.executePaced(exchange, deadline)));
+        EmployeeResponse employeeResponse = response.getBody();
+        if(employeeResponse == null || employeeResponse.getData()==null) {
+            throw new UpstreamDataNotFoundException("Data Not Found");
+        }
+        return EmployeeModel.convertEmployeeModelToEmployee(employeeResponse.getData());
+    }
+
     private Employee fetchEmployeeDetailsFromInCacheDb(Integer id) {
         log.info("Retrieving employee details for employee Id {} from cache db", id);
         return employeeRepository.findById(id).orElseThrow(()->new EmployeeDataNotFoundException("Data Not Found"));
@@ -167,7 +442,7 @@ public class EmployeeHelper {
 
     private void saveEmployeeIntoCacheDb(Employee employee) {
         try{
-            employeeRepository.save(employee);
+            cacheDbWriter.save(employee);
         } catch(Exception e) {
             log.error("Error occurred while saving the employee details for id into the in-cache db",e);
         }
@@ -185,18 +460,17 @@ public class EmployeeHelper {
      * @return A message confirming the deletion of employee details.
      * @throws HttpClientErrorException If an HTTP client error occurs during the request to the external API.
      *                                  This typically indicates issues with the request itself.
+     * @throws UpstreamUnavailableException If the circuit breaker of the operation is open.
+     * @throws UpstreamRateLimitedException If the client-side rate limiter rejects the request.
      * @throws Exception                If an unexpected error occurs during the operation.
      *                                  This could indicate issues with data processing or underlying systems.
      */
     public String deleteEmployeeDetailsById(Integer id) {
         try {
-            String url = BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+id;
-            ResponseEntity<EmployeeDeleteResponse> response = restTemplate
-                    .exchange(url, HttpMethod.DELETE,getEntity(), EmployeeDeleteResponse.class);
-            EmployeeDeleteResponse employeeDeleteResponse = response.getBody();
+            String message = requestDeleteEmployee(id, null);
             deleteEmployeeDetailsFromCacheDb(id);
             log.info("Employee details for id {} deleted successfully.",id);
-            return employeeDeleteResponse.getMessage();
+            return message;
         } catch (HttpClientErrorException ex) {
             log.error("Error occurred while connecting to API ",ex);
             throw ex;
@@ -207,13 +481,60 @@ public class EmployeeHelper {
     }
 
     private void deleteEmployeeDetailsFromCacheDb(Integer id) {
-        log.info("Retrieving employee details for employee Id {} from in-cache db", id);
-        Optional<Employee> employeeOptional = employeeRepository.findById(id);
-        if(employeeOptional.isPresent()) {
-            employeeRepository.delete(employeeOptional.get());
-        } else {
-            log.info("Data not found in-memory cache for id {}",id);
+        cacheDbWriter.delete(id);
+    }
+
+    /**
+     * Deletes several employees through the external API, with the same bounded concurrency as
+     * {@link #createEmployees(List)} on threads of their own, each call going through the delete circuit
+     * breaker like a single delete and paced to the delete rate limiter. Deletes without a permit within
+     * {@code employee.bulk.max-wait} of the start of the request fail with {@link UpstreamRateLimitedException}.
+     * The deleted ids are then purged from the cache db with one batched statement; a failure to purge them
+     * is logged and counted, the employees having been deleted all the same.
+     *
+     * @param ids The validated ids of the employees to delete, without repetitions.
+     * @return The message of each delete, in the order of the ids, all of them completed.
+     */
+    public List<CompletableFuture<String>> deleteEmployeesByIds(List<Integer> ids) {
+        long deadline = System.nanoTime() + bulkProperties.getMaxWait().toNanos();
+        List<CompletableFuture<String>> deletes = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            deletes.add(CompletableFuture.supplyAsync(() -> requestDeleteEmployee(id, deadline), deleteExecutor));
+        }
+        CompletableFuture.allOf(deletes.toArray(new CompletableFuture<?>[0])).handle((ignored, e) -> null).join();
+        List<Integer> deleted = new ArrayList<>(deletes.size());
+        for (int index = 0; index < deletes.size(); index++) {
+            if (!deletes.get(index).isCompletedExceptionally()) {
+                deleted.add(ids.get(index));
+            }
+        }
+        if (!deleted.isEmpty()) {
+            try {
+                cacheDbWriter.deleteBatch(deleted);
+            } catch (Exception e) {
+                countCacheDbBatchFailure(OPERATION_DELETE);
+                log.error("Error occurred while deleting {} employee details from db",deleted.size(),e);
+            }
         }
+        log.info("Bulk delete of {} employee records, {} deleted successfully.", ids.size(), deleted.size());
+        return deletes;
+    }
+
+    /**
+     * @param deadline The {@link System#nanoTime()} by which a delete of a bulk request has to get its permit,
+     *                 or null for a single delete, which waits no longer than the rate limiter max-wait.
+     */
+    private String requestDeleteEmployee(Integer id, Long deadline) {
+        String url = baseUrl+DELETE_EMPLOYEE_DETAILS_BY_ID+id;
+        Supplier<ResponseEntity<EmployeeDeleteResponse>> exchange = () -> restTemplate
+                .exchange(url, HttpMethod.DELETE,getEntity(), EmployeeDeleteResponse.class);
+        ResponseEntity<EmployeeDeleteResponse> response = deleteTimer.execute(() -> deleteBreaker.execute(
+                () -> deadline == null ? deleteLimiter.execute(exchange) : deleteLimiter.executePaced(exchange, deadline)));
+        EmployeeDeleteResponse employeeDeleteResponse = response.getBody();
+        if(employeeDeleteResponse == null) {
+            throw new IllegalStateException("Empty response from the external API");
+        }
+        return employeeDeleteResponse.getMessage();
     }
 
 
@@ -228,16 +549,14 @@ public class EmployeeHelper {
      * @return The Employee object created from the external API response and saved in the cache database.
      * @throws HttpClientErrorException If an HTTP client error occurs during the request to the external API.
      *                                  This typically indicates issues with the request itself.
+     * @throws UpstreamUnavailableException If the circuit breaker of the operation is open.
+     * @throws UpstreamRateLimitedException If the client-side rate limiter rejects the request.
      * @throws Exception                If an unexpected error occurs during the operation.
      *                                  This could indicate issues with data processing or underlying systems.
      */
     public Employee createEmployee(Map<String,Object> data) {
         try{
-            String url = BASE_URL+CREATE_EMPLOYEE_RECORD;
-            ResponseEntity<EmployeeCreateResponse> response = restTemplate
-                    .exchange(url, HttpMethod.POST,new HttpEntity<>(data),EmployeeCreateResponse.class);
-            EmployeeCreateResponse employeeCreateResponse = response.getBody();
-            Employee employee = employeeCreateResponse.getData();
+            Employee employee = requestCreateEmployee(data, null);
             saveEmployeeIntoCacheDb(employee);
             log.info("Employee record for Id {} create successfully ..!",employee.getId());
             return employee;
@@ -250,4 +569,82 @@ public class EmployeeHelper {
         }
     }
 
+    /**
+     * Creates several employees with the external API, at most {@code employee.bulk.upstream-concurrency}
+     * calls in flight across all bulk creates, each call going through the create circuit breaker like a
+     * single create and paced to the create rate limiter. Creates without a permit within
+     * {@code employee.bulk.max-wait} of the start of the request fail with {@link UpstreamRateLimitedException}.
+     * The created employees are then saved into the cache db in one batch; a failure to save them is logged
+     * and counted, the employees having been created all the same.
+     *
+     * @param data The validated data of each employee to create.
+     * @return The outcome of each create, in the order of the data, all of them completed.
+     */
+    public List<CompletableFuture<Employee>> createEmployees(List<Map<String,Object>> data) {
+        long deadline = System.nanoTime() + bulkProperties.getMaxWait().toNanos();
+        List<CompletableFuture<Employee>> creates = new ArrayList<>(data.size());
+        for (Map<String,Object> employeeData : data) {
+            creates.add(CompletableFuture.supplyAsync(() -> requestCreateEmployee(employeeData, deadline), createExecutor));
+        }
+        CompletableFuture.allOf(creates.toArray(new CompletableFuture<?>[0])).handle((ignored, e) -> null).join();
+        List<Employee> created = new ArrayList<>(creates.size());
+        for (CompletableFuture<Employee> create : creates) {
+            if (!create.isCompletedExceptionally()) {
+                created.add(create.join());
+            }
+        }
+        if (!created.isEmpty()) {
+            try {
+                cacheDbWriter.saveBatch(created);
+            } catch (Exception e) {
+                countCacheDbBatchFailure(OPERATION_CREATE);
+                log.error("Error occurred while storing {} created employee details into db",created.size(),e);
+            }
+        }
+        log.info("Bulk create of {} employee records, {} created successfully ..!", data.size(), created.size());
+        return creates;
+    }
+
+    /**
+     * @param deadline The {@link System#nanoTime()} by which a create of a bulk request has to get its permit,
+     *                 or null for a single create, which waits no longer than the rate limiter max-wait.
+     */
+    private Employee requestCreateEmployee(Map<String,Object> data, Long deadline) {
+        String url = baseUrl+CREATE_EMPLOYEE_RECORD;
+        Supplier<ResponseEntity<EmployeeCreateResponse>> exchange = () -> restTemplate
+                .exchange(url, HttpMethod.POST,new HttpEntity<>(data),EmployeeCreateResponse.class);
+        ResponseEntity<EmployeeCreateResponse> response = createTimer.execute(() -> createBreaker.execute(
+                () -> deadline == null ? createLimiter.execute(exchange) : createLimiter.executePaced(exchange, deadline)));
+        EmployeeCreateResponse employeeCreateResponse = response.getBody();
+        if(employeeCreateResponse == null || employeeCreateResponse.getData()==null) {
+            throw new IllegalStateException("Empty response from the external API");
+        }
+        return employeeCreateResponse.getData();
+    }
+
+    @PreDestroy
+    public void stop() {
+        detailsExecutor.shutdownNow();
+        createExecutor.shutdownNow();
+        deleteExecutor.shutdownNow();
+    }
+
+
+    /**
+     * The last employee list fetched from the external API, with its content digest and validators.
+     */
+    private static final class UpstreamRoster {
+
+        final String digest;
+        final String eTag;
+        final long lastModified;
+        final RosterColumns columns;
+
+        UpstreamRoster(String digest, HttpHeaders responseHeaders, RosterColumns columns) {
+            this.digest = digest;
+            this.eTag = responseHeaders.getETag();
+            this.lastModified = responseHeaders.getLastModified();
+            this.columns = columns;
+        }
+    }
 }
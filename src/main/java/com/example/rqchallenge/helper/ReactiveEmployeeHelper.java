@@ -0,0 +1,258 @@
+package com.example.rqchallenge.helper;
+
+import com.example.rqchallenge.cache.CacheDbWriter;
+import com.example.rqchallenge.config.UpstreamProperties;
+import com.example.rqchallenge.exception.EmployeeDataNotFoundException;
+import com.example.rqchallenge.exception.UpstreamDataNotFoundException;
+import com.example.rqchallenge.model.*;
+import com.example.rqchallenge.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.rqchallenge.constant.EmployeeConstant.*;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeHelper} used by the reactive stack.
+ * <p>
+ * Upstream calls go through {@link WebClient}; its error responses are translated into the same
+ * {@link HttpClientErrorException}/{@link HttpServerErrorException} types the blocking helper
+ * works with, so fallbacks and error responses behave identically. The cache database is accessed
+ * through blocking JPA, so those calls are moved off the event loop onto the bounded elastic scheduler;
+ * cache writes go through the shared {@link CacheDbWriter}.
+ * <p>
+ * Unlike the blocking helper, upstream calls do not go through a client-side rate limiter or circuit
+ * breaker: {@link com.example.rqchallenge.upstream.RateLimiter} parks the calling thread, which the event
+ * loop must not do. Bulk requests only bound their calls in flight, and a 429 from the upstream fails
+ * the items it answers.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveEmployeeHelper {
+
+    WebClient webClient;
+
+    EmployeeRepository employeeRepository;
+
+    CacheDbWriter cacheDbWriter;
+
+    String baseUrl;
+
+    MeterRegistry meterRegistry;
+
+    private final Map<String, Mono<Employee>> employeeDetailsInFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReactiveEmployeeHelper(WebClient.Builder webClientBuilder, EmployeeRepository employeeRepository,
+                                  CacheDbWriter cacheDbWriter, UpstreamProperties upstreamProperties,
+                                  MeterRegistry meterRegistry) {
+        this.webClient = webClientBuilder.build();
+        this.employeeRepository = employeeRepository;
+        this.cacheDbWriter = cacheDbWriter;
+        this.baseUrl = upstreamProperties.getBaseUrl();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReactiveEmployeeHelper(WebClient.Builder webClientBuilder, EmployeeRepository employeeRepository) {
+        this(webClientBuilder, employeeRepository, new CacheDbWriter(employeeRepository), new UpstreamProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * Fetches the details of an employee by their ID from the external API without blocking.
+     * <p>
+     * The employee is written to the cache database before it is emitted. If the external API answers
+     * with an HTTP client or server error the employee is read from the cache database instead.
+     * Concurrent subscribers asking for the same ID share a single in-flight request.
+     *
+     * @param id The ID of the employee whose details are to be fetched. Must not be null.
+     * @return A Mono emitting the employee, or failing with {@link EmployeeDataNotFoundException} if
+     *         no employee data is found.
+     */
+    public Mono<Employee> fetchEmployeeDetailsById(Integer id) {
+        String url = baseUrl+FETCH_EMPLOYEE_DETAILS_BY_ID+id;
+        return employeeDetailsInFlight.computeIfAbsent(url, key -> requestEmployeeDetailsById(url, id)
+                .doFinally(signal -> employeeDetailsInFlight.remove(key))
+                .cache());
+    }
+
+    private Mono<Employee> requestEmployeeDetailsById(String url, Integer id) {
+        return webClient.get()
+                .uri(url)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(EmployeeResponse.class)
+                .onErrorMap(WebClientResponseException.class, this::toHttpStatusCodeException)
+                .filter(employeeResponse -> employeeResponse.getData() != null)
+                .switchIfEmpty(Mono.error(() -> new UpstreamDataNotFoundException("Data Not Found")))
+                .map(employeeResponse -> EmployeeModel.convertEmployeeModelToEmployee(employeeResponse.getData()))
+                .doOnNext(employee -> log.info("Data for id {} found on external API",id))
+                .flatMap(employee -> saveEmployeeIntoCacheDb(employee).thenReturn(employee))
+                .onErrorResume(HttpStatusCodeException.class, he -> {
+                    log.error("Error occurred while fetching employee details from the external API for Id {}, " +
+                            "so now fetching from in-cache db: {} ",id,he);
+                    return fetchEmployeeDetailsFromInCacheDb(id);
+                });
+    }
+
+    private Mono<Employee> fetchEmployeeDetailsFromInCacheDb(Integer id) {
+        return Mono.fromCallable(() -> employeeRepository.findById(id)
+                        .orElseThrow(() -> new EmployeeDataNotFoundException("Data Not Found")))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> saveEmployeeIntoCacheDb(Employee employee) {
+        return Mono.fromRunnable(() -> cacheDbWriter.save(employee))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.error("Error occurred while saving the employee details for id into the in-cache db",e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> deleteEmployeeDetailsFromCacheDb(Integer id) {
+        return Mono.fromRunnable(() -> cacheDbWriter.delete(id))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    /**
+     * Deletes employee details by ID through the external API without blocking, then removes them
+     * from the cache database.
+     *
+     * @param id The ID of the employee whose details are to be deleted. Must not be null.
+     * @return A Mono emitting the message confirming the deletion.
+     */
+    public Mono<String> deleteEmployeeDetailsById(Integer id) {
+        return requestDeleteEmployee(id)
+                .flatMap(message -> deleteEmployeeDetailsFromCacheDb(id).thenReturn(message))
+                .doOnSuccess(message -> log.info("Employee details for id {} deleted successfully.",id))
+                .doOnError(e -> log.error("Employee details not deleted for id {}",id,e));
+    }
+
+    /**
+     * Deletes employee details by ID through the external API without blocking, leaving the cache
+     * database to the caller so that a bulk delete can purge its ids in one batch.
+     *
+     * @param id The ID of the employee whose details are to be deleted. Must not be null.
+     * @return A Mono emitting the message confirming the deletion.
+     */
+    public Mono<String> requestDeleteEmployee(Integer id) {
+        String url = baseUrl+DELETE_EMPLOYEE_DETAILS_BY_ID+id;
+        return webClient.delete()
+                .uri(url)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(EmployeeDeleteResponse.class)
+                .onErrorMap(WebClientResponseException.class, this::toHttpStatusCodeException)
+                .map(EmployeeDeleteResponse::getMessage);
+    }
+
+    /**
+     * Purges employees deleted through the external API from the cache database with one batched statement.
+     * A failure to purge them is logged and counted rather than emitted, the employees having been deleted
+     * all the same.
+     *
+     * @param ids The ids of the deleted employees.
+     * @return A Mono completing once the ids are purged, queued or failed to be purged.
+     */
+    public Mono<Void> deleteEmployeesFromCacheDb(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> cacheDbWriter.deleteBatch(ids))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    countCacheDbBatchFailure(OPERATION_DELETE);
+                    log.error("Error occurred while deleting {} employee details from db",ids.size(),e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Creates a new employee record through the external API without blocking and saves it into the
+     * cache database.
+     *
+     * @param data A Map containing employee data with keys such as "name", "salary", "age". Must not be null.
+     * @return A Mono emitting the created employee.
+     */
+    public Mono<Employee> createEmployee(Map<String,Object> data) {
+        return requestCreateEmployee(data)
+                .flatMap(employee -> saveEmployeeIntoCacheDb(employee).thenReturn(employee))
+                .doOnSuccess(employee -> log.info("Employee record for Id {} create successfully ..!",employee.getId()))
+                .doOnError(e -> log.error("Error occurred while creating the employee record",e));
+    }
+
+    /**
+     * Creates a new employee record through the external API without blocking, leaving the cache
+     * database to the caller so that a bulk create can save its employees in one batch.
+     *
+     * @param data A Map containing employee data with keys such as "name", "salary", "age". Must not be null.
+     * @return A Mono emitting the created employee.
+     */
+    public Mono<Employee> requestCreateEmployee(Map<String,Object> data) {
+        String url = baseUrl+CREATE_EMPLOYEE_RECORD;
+        return webClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(data)
+                .retrieve()
+                .bodyToMono(EmployeeCreateResponse.class)
+                .onErrorMap(WebClientResponseException.class, this::toHttpStatusCodeException)
+                .map(EmployeeCreateResponse::getData);
+    }
+
+    /**
+     * Saves employees created through the external API into the cache database in one batch. A failure
+     * to save them is logged and counted rather than emitted, the employees having been created all the same.
+     *
+     * @param employees The created employees.
+     * @return A Mono completing once the employees are saved, queued or failed to be saved.
+     */
+    public Mono<Void> saveEmployeesIntoCacheDb(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> cacheDbWriter.saveBatch(employees))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    countCacheDbBatchFailure(OPERATION_CREATE);
+                    log.error("Error occurred while storing {} created employee details into db",employees.size(),e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void countCacheDbBatchFailure(String operation) {
+        meterRegistry.counter("employee.cache-db.batch-failures", "operation", operation).increment();
+    }
+
+    private HttpStatusCodeException toHttpStatusCodeException(WebClientResponseException ex) {
+        HttpStatus status = ex.getStatusCode();
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, ex.getStatusText(), ex.getHeaders(),
+                    ex.getResponseBodyAsByteArray(), null);
+        }
+        return HttpServerErrorException.create(status, ex.getStatusText(), ex.getHeaders(),
+                ex.getResponseBodyAsByteArray(), null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class AgeBandSalaryStats {
+
+    private int minAge;
+    private int maxAge;
+    private long count;
+    private double averageSalary;
+    private Integer medianSalary;
+    private Integer p90Salary;
+}
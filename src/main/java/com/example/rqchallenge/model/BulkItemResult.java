@@ -0,0 +1,43 @@
+package com.example.rqchallenge.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Outcome of one item of a bulk request, reported with the HTTP status the item would have been
+ * answered with on its own.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    private int index;
+    private int status;
+    private Integer id;
+    private Employee employee;
+    private String error;
+
+    public static BulkItemResult succeeded(int index, int status, Employee employee) {
+        return new BulkItemResult(index, status, employee.getId(), employee, null);
+    }
+
+    public static BulkItemResult succeeded(int index, int status, Integer id) {
+        return new BulkItemResult(index, status, id, null, null);
+    }
+
+    public static BulkItemResult failed(int index, int status, Integer id, String error) {
+        return new BulkItemResult(index, status, id, null, error);
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return status < 300;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.rqchallenge.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * The employee list response of the external API, read straight into employee entities by
+ * {@link com.example.rqchallenge.upstream.EmployeeRosterMessageConverter}.
+ */
+@Getter
+@Setter
+public class EmployeeRosterResponse {
+
+    private String status;
+    private List<Employee> data;
+}
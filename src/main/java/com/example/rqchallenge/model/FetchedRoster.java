@@ -0,0 +1,25 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Employee list fetched for the roster, with the content digest that tells whether it changed.
+ */
+@Getter
+@AllArgsConstructor
+public class FetchedRoster {
+
+    /**
+     * The employees, in roster order.
+     */
+    private List<Employee> employees;
+
+    /**
+     * The {@link com.example.rqchallenge.cache.EmployeeDigest} of the employees, or null if they were not
+     * read from the external API and their digest is unknown.
+     */
+    private String digest;
+}
@@ -0,0 +1,17 @@
+package com.example.rqchallenge.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class SalaryHistogramBucket {
+
+    private double lowerBound;
+    private double upperBound;
+    private long count;
+}
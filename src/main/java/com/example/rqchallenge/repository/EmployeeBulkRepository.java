@@ -0,0 +1,19 @@
+package com.example.rqchallenge.repository;
+
+import com.example.rqchallenge.model.Employee;
+
+import java.util.List;
+
+/**
+ * Bulk write operations on the cache database that bypass the JPA persistence context.
+ */
+public interface EmployeeBulkRepository {
+
+    /**
+     * Inserts or updates all given employees using batched JDBC statements in a single transaction.
+     *
+     * @param employees The employees to write.
+     * @return The number of employees written.
+     */
+    int upsertAll(List<Employee> employees);
+}
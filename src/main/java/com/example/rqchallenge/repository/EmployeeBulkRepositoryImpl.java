@@ -0,0 +1,51 @@
+package com.example.rqchallenge.repository;
+
+import com.example.rqchallenge.config.CacheDbProperties;
+import com.example.rqchallenge.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link EmployeeBulkRepository}, picked up by Spring Data as a fragment of
+ * {@link EmployeeRepository}.
+ * <p>
+ * {@code saveAll} on an entity with an assigned id issues a SELECT followed by an INSERT or UPDATE
+ * per row. This implementation sends one H2 {@code MERGE ... KEY (id)} per row instead, grouped into
+ * JDBC batches of {@code employee.cache-db.batch-size} statements.
+ */
+@Slf4j
+public class EmployeeBulkRepositoryImpl implements EmployeeBulkRepository {
+
+    private static final String UPSERT_EMPLOYEE = "MERGE INTO employee_details (id, name, salary, age, profile_image) " +
+            "KEY (id) VALUES (?, ?, ?, ?, ?)";
+
+    JdbcTemplate jdbcTemplate;
+
+    CacheDbProperties cacheDbProperties;
+
+    @Autowired
+    public EmployeeBulkRepositoryImpl(JdbcTemplate jdbcTemplate, CacheDbProperties cacheDbProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheDbProperties = cacheDbProperties;
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(List<Employee> employees) {
+        int batchSize = Math.max(1, cacheDbProperties.getBatchSize());
+        jdbcTemplate.batchUpdate(UPSERT_EMPLOYEE, employees, batchSize, (ps, employee) -> {
+            ps.setObject(1, employee.getId(), Types.INTEGER);
+            ps.setString(2, employee.getName());
+            ps.setObject(3, employee.getSalary(), Types.INTEGER);
+            ps.setObject(4, employee.getAge(), Types.INTEGER);
+            ps.setString(5, employee.getProfileImage());
+        });
+        log.info("Upserted {} employees into the cache db in batches of {}", employees.size(), batchSize);
+        return employees.size();
+    }
+}
@@ -1,16 +1,43 @@
 package com.example.rqchallenge.service;
 
+import com.example.rqchallenge.cache.EmployeeRosterCache;
+import com.example.rqchallenge.cache.NameSearchIndex;
+import com.example.rqchallenge.cache.RosterColumns;
+import com.example.rqchallenge.cache.RosterCursor;
+import com.example.rqchallenge.cache.RosterPage;
+import com.example.rqchallenge.cache.RosterSnapshot;
+import com.example.rqchallenge.cache.SalaryAnalytics;
+import com.example.rqchallenge.cache.SalarySketch;
+import com.example.rqchallenge.config.BulkProperties;
+import com.example.rqchallenge.config.RosterProperties;
 import com.example.rqchallenge.exception.EmployeeDataNotFoundException;
+import com.example.rqchallenge.exception.RosterCursorExpiredException;
+import com.example.rqchallenge.exception.UpstreamDataNotFoundException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
 import com.example.rqchallenge.helper.EmployeeHelper;
+import com.example.rqchallenge.model.AgeBandSalaryStats;
+import com.example.rqchallenge.model.BulkItemResult;
 import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.SalaryHistogramBucket;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.example.rqchallenge.constant.EmployeeConstant.*;
@@ -21,12 +48,41 @@ public class EmployeeService {
 
     EmployeeHelper employeeHelper;
 
+    EmployeeRosterCache employeeRosterCache;
+
+    RosterProperties rosterProperties;
+
+    BulkProperties bulkProperties;
+
     @Autowired
-    public EmployeeService(EmployeeHelper employeeHelper) {
+    public EmployeeService(EmployeeHelper employeeHelper, EmployeeRosterCache employeeRosterCache,
+                           RosterProperties rosterProperties, BulkProperties bulkProperties) {
         this.employeeHelper = employeeHelper;
+        this.employeeRosterCache = employeeRosterCache;
+        this.rosterProperties = rosterProperties;
+        this.bulkProperties = bulkProperties;
+    }
+
+    public EmployeeService(EmployeeHelper employeeHelper, RosterProperties rosterProperties) {
+        this(employeeHelper, new EmployeeRosterCache(employeeHelper, rosterProperties), rosterProperties,
+                new BulkProperties());
+    }
+
+    public EmployeeService(EmployeeHelper employeeHelper) {
+        this(employeeHelper, new RosterProperties());
     }
 
 
+    /**
+     * Returns the in-memory roster snapshot that read operations are served from.
+     *
+     * @return The current roster snapshot.
+     * @throws EmployeeDataNotFoundException If the roster has never been loaded and no employee data is found.
+     */
+    public RosterSnapshot getRosterSnapshot() {
+        return employeeRosterCache.getSnapshot();
+    }
+
     /**
      * Fetches a list of all employees' data from the system.
      *
@@ -37,9 +93,19 @@ public class EmployeeService {
      *
      */
     public List<Employee> getAllEmployees() {
+        return getAllEmployees(getRosterSnapshot());
+    }
+
+    /**
+     * Returns all employees of the given roster snapshot.
+     *
+     * @param snapshot The roster snapshot to read from.
+     * @return A List containing all employees' data.
+     */
+    public List<Employee> getAllEmployees(RosterSnapshot snapshot) {
         try{
-            log.info("Fetching all employees data list");
-            return employeeHelper.fetchAllEmployeeData();
+            log.info("Fetching all employees data list from roster version {}", snapshot.getVersion());
+            return snapshot.getEmployees();
         } catch (EmployeeDataNotFoundException ee) {
             throw ee;
         } catch (Exception e) {
@@ -47,11 +113,29 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Returns one page of all employees.
+     * <p>
+     * Without a cursor the first page of the current roster snapshot is returned. A cursor continues on
+     * the snapshot version the first page was served from, so the pages of one traversal are consistent
+     * even if the roster changes in between.
+     *
+     * @param limit  The maximum number of employees on the page, or null for the default page size.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @return The page and the cursor of the next page, if any.
+     * @throws IllegalArgumentException      If the limit is out of range or the cursor is invalid.
+     * @throws NumberFormatException         If the limit is not an integer.
+     * @throws RosterCursorExpiredException  If the snapshot version of the cursor is no longer retained.
+     */
+    public RosterPage getAllEmployeesPage(String limit, String cursor) {
+        return getPage(limit, cursor, "all", this::getAllEmployees);
+    }
+
     /**
      * Filters the list of employees based on a given search string.
      * <p>
-     * This method fetches all employee data and filters the list based on whether
-     * the employee's name contains the provided search string (case insensitive).
+     * This method looks the search string up in the trigram name index of the in-memory roster snapshot
+     * and returns the employees whose name contains it, ignoring case and accents.
      *
      * @param searchString The string to search for all the employee list
      * @return A filtered List of Employee objects whose names contain the search string.
@@ -61,14 +145,20 @@ public class EmployeeService {
      *
      */
     public List<Employee> filterEmpNameFromSearchString(String searchString) {
-        try {
-            List<Employee> employeeList = employeeHelper.fetchAllEmployeeData();
+        return filterEmpNameFromSearchString(getRosterSnapshot(), searchString);
+    }
 
+    /**
+     * Filters the employees of the given roster snapshot based on a search string.
+     *
+     * @param snapshot     The roster snapshot to read from.
+     * @param searchString The string to search for all the employee list
+     * @return A filtered List of Employee objects whose names contain the search string.
+     */
+    public List<Employee> filterEmpNameFromSearchString(RosterSnapshot snapshot, String searchString) {
+        try {
             log.info("Filtering the employee names according to search string {}",searchString);
-            List<Employee> filterNameEmpList = employeeList.stream()
-                    .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase())
-            ).collect(Collectors.toList());
-            return filterNameEmpList;
+            return snapshot.getNameSearchIndex().search(searchString);
         } catch (EmployeeDataNotFoundException ee) {
             log.error("Data not found in the external API");
             throw ee;
@@ -78,11 +168,74 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Returns one page of the employees whose name contains the search string, with the same cursor
+     * semantics as {@link #getAllEmployeesPage(String, String)}.
+     *
+     * @param searchString The string to search for all the employee list
+     * @param limit        The maximum number of employees on the page, or null for the default page size.
+     * @param cursor       The cursor returned with the previous page, or null for the first page.
+     * @return The page and the cursor of the next page, if any.
+     */
+    public RosterPage filterEmpNameFromSearchStringPage(String searchString, String limit, String cursor) {
+        return getPage(limit, cursor, "search:" + NameSearchIndex.fold(searchString),
+                snapshot -> filterEmpNameFromSearchString(snapshot, searchString));
+    }
+
+    private RosterPage getPage(String limit, String cursor, String scope, Function<RosterSnapshot, List<Employee>> query) {
+        try {
+            int pageSize = validatePageSize(limit);
+            if (cursor == null || cursor.isEmpty()) {
+                RosterSnapshot snapshot = getRosterSnapshot();
+                return RosterPage.of(snapshot, () -> query.apply(snapshot), 0, pageSize, scope);
+            }
+            RosterCursor rosterCursor = RosterCursor.decode(cursor, scope);
+            RosterSnapshot snapshot = employeeRosterCache.getSnapshot(rosterCursor.getVersion())
+                    .orElseThrow(() -> new RosterCursorExpiredException("Cursor expired, roster version " +
+                            rosterCursor.getVersion() + " is no longer available"));
+            log.info("Continuing paged query at offset {} of roster version {}", rosterCursor.getOffset(),
+                    snapshot.getVersion());
+            return RosterPage.of(snapshot, () -> query.apply(snapshot), rosterCursor.getOffset(), pageSize, scope);
+        } catch (NumberFormatException nfe) {
+            throw nfe;
+        } catch (IllegalArgumentException iae) {
+            log.error("Invalid paging parameters provided",iae);
+            throw iae;
+        } catch (RosterCursorExpiredException ce) {
+            log.error("Paged query continued on an expired roster version",ce);
+            throw ce;
+        }
+    }
+
+    /**
+     * Validates and converts the provided page size.
+     *
+     * @param limit The page size string, or null for the default page size.
+     * @return The validated page size.
+     * @throws NumberFormatException    If the limit is not an integer.
+     * @throws IllegalArgumentException If the limit is not between 1 and the maximum page size.
+     */
+    int validatePageSize(String limit) {
+        if (limit == null || limit.isEmpty()) {
+            return rosterProperties.getDefaultPageSize();
+        }
+        int pageSize;
+        try {
+            pageSize = Integer.parseInt(limit);
+        } catch (NumberFormatException nfe) {
+            log.error("Invalid data provided for limit, please provide valid integer",nfe);
+            throw new NumberFormatException("Invalid data provided for limit, please provide valid integer");
+        }
+        if (pageSize < 1 || pageSize > rosterProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + rosterProperties.getMaxPageSize());
+        }
+        return pageSize;
+    }
+
     /**
      * Retrieves the highest salary from all employee list fetched from external api or in cache.
      * <p>
-     * This method fetches all employee data and calculates the highest salary
-     * from the retrieved list of employees.
+     * This method reads the highest salary from the salary index of the in-memory roster snapshot.
      *
      * @return The highest salary among all employees as an Integer.
      * @throws EmployeeDataNotFoundException If no employee data is found in the external API response or in cache.
@@ -91,10 +244,23 @@ public class EmployeeService {
      *
      */
     public Integer getHighestSalaryOfEmployees(){
+        return getHighestSalaryOfEmployees(getRosterSnapshot());
+    }
+
+    /**
+     * Retrieves the highest salary from the given roster snapshot.
+     *
+     * @param snapshot The roster snapshot to read from.
+     * @return The highest salary among all employees as an Integer.
+     */
+    public Integer getHighestSalaryOfEmployees(RosterSnapshot snapshot) {
         try {
-            List<Employee> employeeList = employeeHelper.fetchAllEmployeeData();
-            log.info("Fetching highest salary from employee list");
-            return employeeList.stream().mapToInt(Employee::getSalary).max().getAsInt();
+            log.info("Fetching highest salary from the salary index");
+            Integer highestSalary = snapshot.getSalaryIndex().getHighestSalary();
+            if (highestSalary == null) {
+                throw new EmployeeDataNotFoundException("Data Not Found");
+            }
+            return highestSalary;
         } catch (EmployeeDataNotFoundException ee) {
             log.error("Data not found in the external API");
             throw ee;
@@ -107,8 +273,8 @@ public class EmployeeService {
     /**
      * Retrieves the names of the top 10 highest-earning employees.
      * <p>
-     * This method fetches all employee data, sorts them based on salary in descending order,
-     * and retrieves the names of the top 10 employees with the highest salaries.
+     * This method reads the salary index of the in-memory roster snapshot, which keeps the employees ordered
+     * by salary in descending order, and retrieves the names of the top 10 employees with the highest salaries.
      *
      * @return A List of String containing the names of the top 10 highest-earning employees.
      * @throws EmployeeDataNotFoundException If no employee data is found in the external API response or in cache.
@@ -117,15 +283,19 @@ public class EmployeeService {
      *
      */
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        try {
-            List<Employee> employeeList = employeeHelper.fetchAllEmployeeData();
+        return getTopTenHighestEarningEmployeeNames(getRosterSnapshot());
+    }
 
+    /**
+     * Retrieves the names of the top 10 highest-earning employees of the given roster snapshot.
+     *
+     * @param snapshot The roster snapshot to read from.
+     * @return A List of String containing the names of the top 10 highest-earning employees.
+     */
+    public List<String> getTopTenHighestEarningEmployeeNames(RosterSnapshot snapshot) {
+        try {
             log.info("Filtering the top-10 highest salary details for employees");
-            List<String> empNameList = employeeList.stream()
-                    .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
-                    .limit(10)
-                    .map(Employee::getName)
-                    .collect(Collectors.toList());
+            List<String> empNameList = topEarnerNames(snapshot, DEFAULT_TOP_EARNERS);
             return empNameList;
         } catch (EmployeeDataNotFoundException ee) {
             log.error("Data not found in the external API");
@@ -136,12 +306,206 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Retrieves the k highest-earning employees of the given roster snapshot.
+     * <p>
+     * The employees are read off the salary index, which keeps them ordered by salary in descending order and
+     * breaks ties by ascending id with missing ids last, so equal salaries always come back in the same order.
+     *
+     * @param snapshot The roster snapshot to read from.
+     * @param k        The number of employees to return, or null for 10.
+     * @return Up to k employees, highest salary first.
+     * @throws NumberFormatException    If k is not an integer.
+     * @throws IllegalArgumentException If k is not between 1 and the maximum number of top earners.
+     */
+    public List<Employee> getTopEarners(RosterSnapshot snapshot, String k) {
+        try {
+            log.info("Filtering the top-{} highest salary details for employees", k);
+            return snapshot.getColumns().select(snapshot.getSalaryIndex().getTopEarners(validateTopEarnersCount(k)));
+        } catch (Exception e) {
+            log.error("Error occurred while retrieving the top-{} highest salary employees", k);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the names of the k highest-earning employees of the given roster snapshot, in the order of
+     * {@link #getTopEarners(RosterSnapshot, String)}.
+     *
+     * @param snapshot The roster snapshot to read from.
+     * @param k        The number of names to return, or null for 10.
+     * @return Up to k names, highest salary first.
+     * @throws NumberFormatException    If k is not an integer.
+     * @throws IllegalArgumentException If k is not between 1 and the maximum number of top earners.
+     */
+    public List<String> getTopEarnerNames(RosterSnapshot snapshot, String k) {
+        try {
+            log.info("Filtering the top-{} highest salary names for employees", k);
+            return topEarnerNames(snapshot, validateTopEarnersCount(k));
+        } catch (Exception e) {
+            log.error("Error occurred while retrieving the top-{} highest salary names", k);
+            throw e;
+        }
+    }
+
+    private List<String> topEarnerNames(RosterSnapshot snapshot, int k) {
+        RosterColumns columns = snapshot.getColumns();
+        return Arrays.stream(snapshot.getSalaryIndex().getTopEarners(k))
+                .mapToObj(columns::getName)
+                .collect(Collectors.toList());
+    }
+
+    private int validateTopEarnersCount(String k) {
+        if (k == null || k.isEmpty()) {
+            return DEFAULT_TOP_EARNERS;
+        }
+        int count;
+        try {
+            count = Integer.parseInt(k);
+        } catch (NumberFormatException nfe) {
+            log.error("Invalid data provided for k, please provide valid integer",nfe);
+            throw new NumberFormatException("Invalid data provided for k, please provide valid integer");
+        }
+        if (count < 1 || count > rosterProperties.getMaxTopEarners()) {
+            throw new IllegalArgumentException("k must be between 1 and " + rosterProperties.getMaxTopEarners());
+        }
+        return count;
+    }
+
+    /**
+     * Estimates salary percentiles of the given roster snapshot from its salary sketch.
+     *
+     * @param snapshot    The roster snapshot to read from.
+     * @param percentiles Comma separated percentiles between 0 and 100, or null for the median, p90 and p99.
+     * @return The estimated salary per requested percentile, keyed "p" followed by the percentile as requested.
+     * @throws NumberFormatException         If a percentile is not a number.
+     * @throws IllegalArgumentException      If a percentile is out of range.
+     * @throws EmployeeDataNotFoundException If no employee has a salary.
+     */
+    public Map<String, Integer> getSalaryPercentiles(RosterSnapshot snapshot, String percentiles) {
+        try {
+            log.info("Estimating salary percentiles {} from the salary sketch", percentiles);
+            SalarySketch salaries = getSalarySketch(snapshot);
+            Map<String, Integer> estimates = new LinkedHashMap<>();
+            for (String percentile : (percentiles == null || percentiles.isEmpty() ? DEFAULT_SALARY_PERCENTILES : percentiles).split(",")) {
+                String requested = percentile.trim();
+                estimates.put("p" + requested, round(salaries.getQuantile(validatePercentile(requested) / 100)));
+            }
+            return estimates;
+        } catch (EmployeeDataNotFoundException ee) {
+            log.error("Data not found in the external API");
+            throw ee;
+        } catch (Exception e) {
+            log.error("Error occurred while estimating salary percentiles {}", percentiles);
+            throw e;
+        }
+    }
+
+    /**
+     * Estimates a salary histogram of the given roster snapshot from its salary sketch.
+     *
+     * @param snapshot The roster snapshot to read from.
+     * @param buckets  The number of equally wide buckets between the lowest and highest salary, or null for the default.
+     * @return The buckets in ascending salary order.
+     * @throws NumberFormatException         If the number of buckets is not an integer.
+     * @throws IllegalArgumentException      If the number of buckets is out of range.
+     * @throws EmployeeDataNotFoundException If no employee has a salary.
+     */
+    public List<SalaryHistogramBucket> getSalaryHistogram(RosterSnapshot snapshot, String buckets) {
+        try {
+            log.info("Estimating a salary histogram with {} buckets from the salary sketch", buckets);
+            int bucketCount = validateHistogramBuckets(buckets);
+            return getSalarySketch(snapshot).getHistogram(bucketCount).stream()
+                    .map(bin -> new SalaryHistogramBucket(bin.getLowerBound(), bin.getUpperBound(), bin.getCount()))
+                    .collect(Collectors.toList());
+        } catch (EmployeeDataNotFoundException ee) {
+            log.error("Data not found in the external API");
+            throw ee;
+        } catch (Exception e) {
+            log.error("Error occurred while estimating the salary histogram");
+            throw e;
+        }
+    }
+
+    /**
+     * Summarizes the salaries of the given roster snapshot per age band, from the salary sketch of each band.
+     *
+     * @param snapshot The roster snapshot to read from.
+     * @return The bands holding an employee with a salary and an age, youngest first.
+     * @throws EmployeeDataNotFoundException If no employee has a salary.
+     */
+    public List<AgeBandSalaryStats> getSalaryStatsByAgeBand(RosterSnapshot snapshot) {
+        try {
+            log.info("Summarizing salaries per age band from the salary sketches");
+            SalaryAnalytics analytics = snapshot.getSalaryAnalytics();
+            if (analytics.getSalaries().getCount() == 0) {
+                throw new EmployeeDataNotFoundException("Data Not Found");
+            }
+            return analytics.getAgeBands().entrySet().stream()
+                    .map(band -> new AgeBandSalaryStats(band.getKey(), band.getKey() + analytics.getAgeBandWidth() - 1,
+                            band.getValue().getCount(), band.getValue().getMean(),
+                            round(band.getValue().getQuantile(0.5)), round(band.getValue().getQuantile(0.9))))
+                    .collect(Collectors.toList());
+        } catch (EmployeeDataNotFoundException ee) {
+            log.error("Data not found in the external API");
+            throw ee;
+        } catch (Exception e) {
+            log.error("Error occurred while summarizing salaries per age band");
+            throw e;
+        }
+    }
+
+    private SalarySketch getSalarySketch(RosterSnapshot snapshot) {
+        SalarySketch salaries = snapshot.getSalaryAnalytics().getSalaries();
+        if (salaries.getCount() == 0) {
+            throw new EmployeeDataNotFoundException("Data Not Found");
+        }
+        return salaries;
+    }
+
+    private double validatePercentile(String percentile) {
+        double value;
+        try {
+            value = Double.parseDouble(percentile);
+        } catch (NumberFormatException nfe) {
+            log.error("Invalid data provided for percentile, please provide valid number",nfe);
+            throw new NumberFormatException("Invalid data provided for percentile, please provide valid number");
+        }
+        if (!(value >= 0 && value <= 100)) {
+            throw new IllegalArgumentException("percentiles must be between 0 and 100");
+        }
+        return value;
+    }
+
+    private int validateHistogramBuckets(String buckets) {
+        if (buckets == null || buckets.isEmpty()) {
+            return rosterProperties.getDefaultHistogramBuckets();
+        }
+        int bucketCount;
+        try {
+            bucketCount = Integer.parseInt(buckets);
+        } catch (NumberFormatException nfe) {
+            log.error("Invalid data provided for buckets, please provide valid integer",nfe);
+            throw new NumberFormatException("Invalid data provided for buckets, please provide valid integer");
+        }
+        if (bucketCount < 1 || bucketCount > rosterProperties.getMaxHistogramBuckets()) {
+            throw new IllegalArgumentException("buckets must be between 1 and " + rosterProperties.getMaxHistogramBuckets());
+        }
+        return bucketCount;
+    }
+
+    private static Integer round(Double estimate) {
+        return estimate == null ? null : (int) Math.round(estimate);
+    }
+
 
     /**
      * Retrieves employee details based on the provided ID.
      * <p>
-     * This method validates the ID, fetches employee details from the helper,
-     * and handles various exceptions that may occur during the process.
+     * This method validates the ID and serves the employee from the in-memory roster if it is fresh enough
+     * for {@code employee.roster.by-id-max-age}; otherwise it fetches employee details from the helper. An id
+     * the external API has no employee for is remembered for {@code employee.roster.not-found-ttl}, and
+     * rejected without a request until then. Various exceptions that may occur during the process are handled.
      *
      * @param id The ID of the employee to fetch details for. Must not be empty or null.
      * @return The Employee object containing details for the specified ID.
@@ -160,7 +524,18 @@ public class EmployeeService {
                 throw new IllegalArgumentException("Data should not empty or null");
             }
             log.info("Fetching the data employee details for id: {}",id);
-            return employeeHelper.fetchEmployeeDetailsById(validateIdData(id));
+            int employeeId = validateIdData(id);
+            Employee employee = employeeRosterCache.findById(employeeId);
+            if (employee != null) {
+                log.info("Served the employee details for id: {} from the roster",id);
+                return employee;
+            }
+            try {
+                return employeeHelper.fetchEmployeeDetailsById(employeeId);
+            } catch (UpstreamDataNotFoundException ue) {
+                employeeRosterCache.rememberNotFound(employeeId);
+                throw ue;
+            }
         } catch (NumberFormatException nfe) {
             log.error("Invalid input provided for field id: {}, expecting integer value",id);
             throw nfe;
@@ -175,6 +550,62 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Retrieves the details of several employees, reporting the outcome of each id.
+     * <p>
+     * The ids are looked up through {@link EmployeeRosterCache#findById(int)}, so a fresh roster answers
+     * from memory and ids known not to exist are rejected, and the others are fetched through {@link EmployeeHelper#fetchEmployeesByIds(List)},
+     * from the cache db in one query and from the external API for the rest. An id repeated in the request
+     * is fetched once and reported at each of its indexes.
+     *
+     * @param ids Comma separated IDs of the employees to fetch.
+     * @return The outcome of each id, in the order of the ids: the employee with status 200, or status 404
+     * if no employee with the id is found.
+     * @throws IllegalArgumentException If no ids or more than {@code employee.bulk.max-batch-size} ids are given.
+     */
+    public List<BulkItemResult> getEmployeesByIds(String ids) {
+        try {
+            List<String> idList = ids == null || ids.isEmpty() ? Collections.emptyList()
+                    : Arrays.stream(ids.split(",", -1)).map(String::trim).collect(Collectors.toList());
+            validateBatchSize(idList);
+            log.info("Fetching the data employee details for {} ids",idList.size());
+            BulkItemResult[] results = new BulkItemResult[idList.size()];
+            Map<Integer, Integer> validIds = validateBulkIds(idList, results, false);
+            Map<Integer, CompletableFuture<Employee>> fetches = new HashMap<>();
+            List<Integer> misses = new ArrayList<>();
+            for (Integer employeeId : new LinkedHashSet<>(validIds.values())) {
+                try {
+                    Employee employee = employeeRosterCache.findById(employeeId);
+                    if (employee != null) {
+                        fetches.put(employeeId, CompletableFuture.completedFuture(employee));
+                    } else {
+                        misses.add(employeeId);
+                    }
+                } catch (EmployeeDataNotFoundException ee) {
+                    fetches.put(employeeId, CompletableFuture.failedFuture(ee));
+                }
+            }
+            if (!misses.isEmpty()) {
+                fetches.putAll(employeeHelper.fetchEmployeesByIds(misses));
+            }
+            validIds.forEach((index, employeeId) -> {
+                try {
+                    results[index] = BulkItemResult.succeeded(index, HttpStatus.OK.value(), fetches.get(employeeId).join());
+                } catch (CompletionException ce) {
+                    if (ce.getCause() instanceof UpstreamDataNotFoundException) {
+                        employeeRosterCache.rememberNotFound(employeeId);
+                    }
+                    results[index] = bulkFailure(index, employeeId, ce.getCause());
+                }
+            });
+            return Arrays.asList(results);
+        } catch (IllegalArgumentException iae) {
+            throw iae;
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
     /**
      * Deletes an employee record based on the provided ID.
      * <p>
@@ -197,7 +628,10 @@ public class EmployeeService {
             if(id == null || id.isEmpty()) {
                 throw new IllegalArgumentException("Data should not empty or null");
             }
-            return employeeHelper.deleteEmployeeDetailsById(validateIdData(id));
+            Integer employeeId = validateIdData(id);
+            String message = employeeHelper.deleteEmployeeDetailsById(employeeId);
+            employeeRosterCache.applyDeleted(employeeId);
+            return message;
         } catch (NumberFormatException nfe) {
             log.error("Invalid input provided for field id: {}, expecting integer value",id);
             throw nfe;
@@ -213,6 +647,81 @@ public class EmployeeService {
     }
 
 
+    /**
+     * Deletes several employee records, reporting the outcome of each one.
+     * <p>
+     * Every id is validated before any of them is sent to the external API; an invalid or repeated id is
+     * reported with status 400 and is not sent. The valid ids are deleted with bounded concurrency, see
+     * {@link EmployeeHelper#deleteEmployeesByIds(List)}, and removed from the roster snapshot as one new version.
+     *
+     * @param ids The IDs of the employee records to delete.
+     * @return The outcome of each id, in the order of the ids.
+     * @throws IllegalArgumentException If no ids or more than {@code employee.bulk.max-batch-size} ids are given.
+     * @throws Exception If an unexpected error occurs while deleting the employees from the cache db.
+     */
+    public List<BulkItemResult> deleteEmployeesByIds(List<String> ids) {
+        try {
+            validateBatchSize(ids);
+            log.info("Deleting the employee details for {} ids",ids.size());
+            BulkItemResult[] results = new BulkItemResult[ids.size()];
+            Map<Integer, Integer> validIds = validateBulkIds(ids, results, true);
+            List<Integer> employeeIds = new ArrayList<>(validIds.values());
+            List<CompletableFuture<String>> deletes = employeeIds.isEmpty()
+                    ? Collections.emptyList() : employeeHelper.deleteEmployeesByIds(employeeIds);
+            List<Integer> deleted = new ArrayList<>(deletes.size());
+            int valid = 0;
+            for (Map.Entry<Integer, Integer> validId : validIds.entrySet()) {
+                int index = validId.getKey();
+                Integer employeeId = validId.getValue();
+                try {
+                    deletes.get(valid++).join();
+                    deleted.add(employeeId);
+                    results[index] = BulkItemResult.succeeded(index, HttpStatus.OK.value(), employeeId);
+                } catch (CompletionException ce) {
+                    results[index] = bulkFailure(index, employeeId, ce.getCause());
+                }
+            }
+            employeeRosterCache.applyDeleted(deleted);
+            return Arrays.asList(results);
+        } catch (IllegalArgumentException iae) {
+            throw iae;
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    /**
+     * Validates every id of a bulk delete or a multi-get with {@link #validateIdData(String)}.
+     *
+     * @param ids            The IDs to validate, one per item of the request.
+     * @param results        The per-item results of the request, in which the 400 result of every invalid id
+     *                       is set at its index; the items of valid ids are left for the caller to fill.
+     * @param rejectRepeated Whether an id already given at a lower index is invalid: a bulk delete rejects it,
+     *                       since the second delete of an id would fail, while a multi-get answers every
+     *                       occurrence with the same employee.
+     * @return The valid ids by the index of their item, in the order of the items.
+     */
+    Map<Integer, Integer> validateBulkIds(List<String> ids, BulkItemResult[] results, boolean rejectRepeated) {
+        Map<Integer, Integer> validIds = new LinkedHashMap<>();
+        Set<Integer> seen = new HashSet<>();
+        for (int index = 0; index < results.length; index++) {
+            String id = ids.get(index);
+            try {
+                if (id == null || id.isEmpty()) {
+                    throw new IllegalArgumentException("Data should not empty or null");
+                }
+                Integer employeeId = validateIdData(id);
+                if (!seen.add(employeeId) && rejectRepeated) {
+                    throw new IllegalArgumentException("Duplicate id provided: " + employeeId);
+                }
+                validIds.put(index, employeeId);
+            } catch (RuntimeException e) {
+                results[index] = bulkFailure(index, null, e);
+            }
+        }
+        return validIds;
+    }
+
     /**
      * Validates and converts the provided ID string to an Integer.
      * <p>
@@ -223,7 +732,7 @@ public class EmployeeService {
      * @throws NumberFormatException If the provided ID cannot be parsed as an Integer.
      *                              This typically occurs when the ID format is incorrect or non-numeric.
      */
-    private Integer validateIdData(String id) {
+    Integer validateIdData(String id) {
         try{
             return Integer.parseInt(id);
         } catch (NumberFormatException nfe) {
@@ -250,7 +759,9 @@ public class EmployeeService {
         try{
             log.info("Saving the employee details for employee {}",data.get("name"));
             validateData(data);
-            return employeeHelper.createEmployee(data);
+            Employee employee = employeeHelper.createEmployee(data);
+            employeeRosterCache.applyCreated(employee);
+            return employee;
         } catch (NumberFormatException nfe) {
             throw nfe;
         } catch (IllegalArgumentException iae) {
@@ -261,6 +772,115 @@ public class EmployeeService {
     }
 
 
+    /**
+     * Creates several employee records, reporting the outcome of each one.
+     * <p>
+     * Every item is validated before any of them is sent to the external API; an invalid item is reported
+     * with the status a single create would have been rejected with and is not sent. The valid items are
+     * created with bounded concurrency, see {@link EmployeeHelper#createEmployees(List)}, and the created
+     * employees are added to the roster snapshot as one new version.
+     *
+     * @param data The data of each employee to create, as for {@link #createEmployee(Map)}.
+     * @return The outcome of each item, in the order of the data.
+     * @throws IllegalArgumentException If no items or more than {@code employee.bulk.max-batch-size} items are given.
+     * @throws Exception If an unexpected error occurs while storing the created employees into the cache db.
+     */
+    public List<BulkItemResult> createEmployees(List<Map<String,Object>> data) {
+        try{
+            validateBatchSize(data);
+            log.info("Saving the employee details for {} employees",data.size());
+            BulkItemResult[] results = validateBulkData(data);
+            List<Integer> validIndexes = new ArrayList<>();
+            List<Map<String,Object>> validData = new ArrayList<>();
+            for (int index = 0; index < results.length; index++) {
+                if (results[index] == null) {
+                    validIndexes.add(index);
+                    validData.add(data.get(index));
+                }
+            }
+            List<CompletableFuture<Employee>> creates = validData.isEmpty()
+                    ? Collections.emptyList() : employeeHelper.createEmployees(validData);
+            List<Employee> created = new ArrayList<>(creates.size());
+            for (int valid = 0; valid < creates.size(); valid++) {
+                int index = validIndexes.get(valid);
+                try {
+                    Employee employee = creates.get(valid).join();
+                    created.add(employee);
+                    results[index] = BulkItemResult.succeeded(index, HttpStatus.CREATED.value(), employee);
+                } catch (CompletionException ce) {
+                    results[index] = bulkFailure(index, null, ce.getCause());
+                }
+            }
+            employeeRosterCache.applyCreated(created);
+            return Arrays.asList(results);
+        } catch (IllegalArgumentException iae) {
+            throw iae;
+        } catch (Exception e) {
+            throw e;
+        }
+    }
+
+    /**
+     * @param items The items of a bulk request.
+     * @throws IllegalArgumentException If no items or more than {@code employee.bulk.max-batch-size} items are given.
+     */
+    void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Data should not empty or null");
+        }
+        if (items.size() > bulkProperties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("At most " + bulkProperties.getMaxBatchSize()
+                    + " items are allowed in one request");
+        }
+    }
+
+    /**
+     * Validates every item of a bulk create with {@link #validateData(Map)}.
+     *
+     * @param data The data of each employee to create.
+     * @return The failed result of every invalid item, at its index; null at the index of a valid item.
+     */
+    BulkItemResult[] validateBulkData(List<Map<String,Object>> data) {
+        BulkItemResult[] results = new BulkItemResult[data.size()];
+        for (int index = 0; index < results.length; index++) {
+            Map<String,Object> item = data.get(index);
+            try {
+                if (item == null) {
+                    throw new IllegalArgumentException("Incomplete data provided, please provide name, age, salary");
+                }
+                validateData(item);
+            } catch (RuntimeException e) {
+                results[index] = bulkFailure(index, null, e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reports a failed item of a bulk request with the status {@link com.example.rqchallenge.exception.EmployeeExceptionController}
+     * answers the same failure of a single request with.
+     *
+     * @param index The index of the item.
+     * @param id    The id of the employee the item refers to, or null if it has none.
+     * @param cause The exception the item failed with.
+     * @return The failed result of the item.
+     */
+    static BulkItemResult bulkFailure(int index, Integer id, Throwable cause) {
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        String error = cause.getMessage();
+        if (cause instanceof IllegalArgumentException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (cause instanceof EmployeeDataNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (cause instanceof HttpClientErrorException) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+            error = "Too many request API hits";
+        } else if (cause instanceof UpstreamUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return BulkItemResult.failed(index, status.value(), id, error);
+    }
+
     /**
      * Validates the provided data map for employee creation.
      * <p>
@@ -275,7 +895,7 @@ public class EmployeeService {
      * @throws NumberFormatException    If there is an error converting 'age' or 'salary' to integers,
      *
      */
-    private void validateData(Map<String, Object> data) {
+    void validateData(Map<String, Object> data) {
         try{
             if(data.containsKey(EMP_NAME) && data.containsKey(EMP_SAL) && data.containsKey(EMP_AGE)
                     && data.get(EMP_NAME)!=null && data.get(EMP_SAL)!= null && data.get(EMP_AGE)!= null) {
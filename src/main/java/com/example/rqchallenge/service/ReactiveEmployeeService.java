@@ -0,0 +1,203 @@
+package com.example.rqchallenge.service;
+
+import com.example.rqchallenge.cache.EmployeeRosterCache;
+import com.example.rqchallenge.cache.RosterPage;
+import com.example.rqchallenge.cache.RosterSnapshot;
+import com.example.rqchallenge.config.BulkProperties;
+import com.example.rqchallenge.exception.UpstreamDataNotFoundException;
+import com.example.rqchallenge.helper.ReactiveEmployeeHelper;
+import com.example.rqchallenge.model.BulkItemResult;
+import com.example.rqchallenge.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService} used by the reactive stack.
+ * <p>
+ * Read operations are answered from the in-memory roster snapshot through the same
+ * {@link EmployeeService} methods as the servlet stack; only the very first load of the roster
+ * blocks, and it is moved off the event loop. Single-employee operations go through
+ * {@link ReactiveEmployeeHelper}.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeService {
+
+    EmployeeService employeeService;
+
+    ReactiveEmployeeHelper reactiveEmployeeHelper;
+
+    EmployeeRosterCache employeeRosterCache;
+
+    BulkProperties bulkProperties;
+
+    @Autowired
+    public ReactiveEmployeeService(EmployeeService employeeService, ReactiveEmployeeHelper reactiveEmployeeHelper,
+                                   EmployeeRosterCache employeeRosterCache, BulkProperties bulkProperties) {
+        this.employeeService = employeeService;
+        this.reactiveEmployeeHelper = reactiveEmployeeHelper;
+        this.employeeRosterCache = employeeRosterCache;
+        this.bulkProperties = bulkProperties;
+    }
+
+    /**
+     * @return A Mono emitting the roster snapshot that read operations are served from.
+     */
+    public Mono<RosterSnapshot> getRosterSnapshot() {
+        if (employeeRosterCache.isLoaded()) {
+            return Mono.fromSupplier(employeeRosterCache::getSnapshot);
+        }
+        return Mono.fromCallable(employeeRosterCache::getSnapshot).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * @return A Mono emitting one page of all employees, see {@link EmployeeService#getAllEmployeesPage(String, String)}.
+     */
+    public Mono<RosterPage> getAllEmployeesPage(String limit, String cursor) {
+        return getRosterSnapshot().map(loaded -> employeeService.getAllEmployeesPage(limit, cursor));
+    }
+
+    /**
+     * @return A Mono emitting one page of the name search, see
+     *         {@link EmployeeService#filterEmpNameFromSearchStringPage(String, String, String)}.
+     */
+    public Mono<RosterPage> filterEmpNameFromSearchStringPage(String searchString, String limit, String cursor) {
+        return getRosterSnapshot().map(loaded -> employeeService.filterEmpNameFromSearchStringPage(searchString, limit, cursor));
+    }
+
+    /**
+     * Retrieves employee details based on the provided ID without blocking. A fresh roster and the ids
+     * remembered as not existing answer first, as in {@link EmployeeService#getEmployeeDetailsById(String)}.
+     *
+     * @param id The ID of the employee to fetch details for. Must not be empty or null.
+     * @return A Mono emitting the employee, or failing with the same exceptions as
+     *         {@link EmployeeService#getEmployeeDetailsById(String)}.
+     */
+    public Mono<Employee> getEmployeeDetailsById(String id) {
+        return validateId(id)
+                .doOnNext(employeeId -> log.info("Fetching the data employee details for id: {}",employeeId))
+                .flatMap(employeeId -> Mono.fromCallable(() -> employeeRosterCache.findById(employeeId))
+                        .switchIfEmpty(Mono.defer(() -> reactiveEmployeeHelper.fetchEmployeeDetailsById(employeeId)))
+                        .doOnError(UpstreamDataNotFoundException.class,
+                                ue -> employeeRosterCache.rememberNotFound(employeeId)));
+    }
+
+    /**
+     * Retrieves the details of several employees, see {@link EmployeeService#getEmployeesByIds(String)}.
+     * The ids the roster snapshot does not hold are fetched through the blocking helper, so the lookup is
+     * moved off the event loop.
+     *
+     * @param ids Comma separated IDs of the employees to fetch.
+     * @return A Mono emitting the outcome of each id, in the order of the ids.
+     */
+    public Mono<List<BulkItemResult>> getEmployeesByIds(String ids) {
+        return Mono.fromCallable(() -> employeeService.getEmployeesByIds(ids)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Deletes an employee record based on the provided ID without blocking.
+     *
+     * @param id The ID of the employee record to delete. Must not be empty or null.
+     * @return A Mono emitting the message of the delete operation.
+     */
+    public Mono<String> deleteEmployeeById(String id) {
+        return validateId(id)
+                .flatMap(employeeId -> reactiveEmployeeHelper.deleteEmployeeDetailsById(employeeId)
+                        .doOnSuccess(message -> employeeRosterCache.applyDeleted(employeeId)));
+    }
+
+    /**
+     * Creates a new employee record based on the provided data without blocking.
+     *
+     * @param data A Map containing the employee data with keys such as "name", "salary", "age".
+     * @return A Mono emitting the created employee.
+     */
+    public Mono<Employee> createEmployee(Map<String,Object> data) {
+        return Mono.fromRunnable(() -> {
+                    log.info("Saving the employee details for employee {}",data.get("name"));
+                    employeeService.validateData(data);
+                })
+                .then(reactiveEmployeeHelper.createEmployee(data))
+                .doOnNext(employeeRosterCache::applyCreated);
+    }
+
+    /**
+     * Creates several employee records without blocking, see {@link EmployeeService#createEmployees(List)}.
+     * At most {@code employee.bulk.upstream-concurrency} creates of the request are in flight at a time; they
+     * do not go through the create rate limiter, see {@link ReactiveEmployeeHelper}. A failure to save the
+     * created employees into the cache db still returns the results and adds them to the roster.
+     *
+     * @param data The data of each employee to create.
+     * @return A Mono emitting the outcome of each item, in the order of the data.
+     */
+    public Mono<List<BulkItemResult>> createEmployees(List<Map<String,Object>> data) {
+        return Mono.fromCallable(() -> {
+                    employeeService.validateBatchSize(data);
+                    log.info("Saving the employee details for {} employees",data.size());
+                    return employeeService.validateBulkData(data);
+                })
+                .flatMap(results -> Flux.range(0, results.length)
+                        .filter(index -> results[index] == null)
+                        .flatMapSequential(index -> reactiveEmployeeHelper.requestCreateEmployee(data.get(index))
+                                .map(employee -> BulkItemResult.succeeded(index, HttpStatus.CREATED.value(), employee))
+                                .onErrorResume(e -> Mono.just(EmployeeService.bulkFailure(index, null, e))),
+                                Math.max(1, bulkProperties.getUpstreamConcurrency()))
+                        .doOnNext(result -> results[result.getIndex()] = result)
+                        .filter(BulkItemResult::isSuccessful)
+                        .map(BulkItemResult::getEmployee)
+                        .collectList()
+                        .flatMap(created -> reactiveEmployeeHelper.saveEmployeesIntoCacheDb(created)
+                                .then(Mono.fromRunnable(() -> employeeRosterCache.applyCreated(created))))
+                        .then(Mono.fromSupplier(() -> Arrays.asList(results))));
+    }
+
+    /**
+     * Deletes several employee records without blocking, see {@link EmployeeService#deleteEmployeesByIds(List)}.
+     * At most {@code employee.bulk.upstream-concurrency} deletes of the request are in flight at a time; they
+     * do not go through the delete rate limiter, see {@link ReactiveEmployeeHelper}. A failure to purge the
+     * deleted ids from the cache db still returns the results and removes them from the roster.
+     *
+     * @param ids The IDs of the employee records to delete.
+     * @return A Mono emitting the outcome of each id, in the order of the ids.
+     */
+    public Mono<List<BulkItemResult>> deleteEmployeesByIds(List<String> ids) {
+        BulkItemResult[] results = new BulkItemResult[ids == null ? 0 : ids.size()];
+        return Mono.fromCallable(() -> {
+                    employeeService.validateBatchSize(ids);
+                    log.info("Deleting the employee details for {} ids",ids.size());
+                    return employeeService.validateBulkIds(ids, results, true);
+                })
+                .flatMap(validIds -> Flux.fromIterable(validIds.entrySet())
+                        .flatMapSequential(validId -> reactiveEmployeeHelper.requestDeleteEmployee(validId.getValue())
+                                .map(message -> BulkItemResult.succeeded(validId.getKey(), HttpStatus.OK.value(), validId.getValue()))
+                                .onErrorResume(e -> Mono.just(EmployeeService.bulkFailure(validId.getKey(), validId.getValue(), e))),
+                                Math.max(1, bulkProperties.getUpstreamConcurrency()))
+                        .doOnNext(result -> results[result.getIndex()] = result)
+                        .filter(BulkItemResult::isSuccessful)
+                        .map(BulkItemResult::getId)
+                        .collectList()
+                        .flatMap(deleted -> reactiveEmployeeHelper.deleteEmployeesFromCacheDb(deleted)
+                                .then(Mono.fromRunnable(() -> employeeRosterCache.applyDeleted(deleted))))
+                        .then(Mono.fromSupplier(() -> Arrays.asList(results))));
+    }
+
+    private Mono<Integer> validateId(String id) {
+        return Mono.fromCallable(() -> {
+            if(id == null || id.isEmpty()) {
+                throw new IllegalArgumentException("Data should not empty or null");
+            }
+            return employeeService.validateIdData(id);
+        });
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.rqchallenge.upstream;
+
+import com.example.rqchallenge.config.CircuitBreakerProperties;
+import com.example.rqchallenge.exception.UpstreamRateLimitedException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.function.Supplier;
+
+/**
+ * Stops calling an upstream operation while it keeps failing.
+ * <p>
+ * While closed, the outcome of the most recent calls is kept in a sliding window; once enough calls
+ * are recorded and the failure rate reaches the threshold the breaker opens. An open breaker rejects
+ * every call immediately with {@link UpstreamUnavailableException}, so callers can serve their fallback
+ * without waiting for the upstream to fail. After the open duration the breaker turns half-open and
+ * lets single probe calls through, at most one per probe interval: a failed probe opens it again, a
+ * number of consecutive successful probes closes it.
+ * <p>
+ * Server errors, 429 responses and I/O errors count as failures; any other outcome, including other
+ * client errors, means the upstream is reachable and counts as a success. Calls rejected by the
+ * client-side rate limiter never reached the upstream and are not recorded.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String operation;
+    private final CircuitBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCalls;
+
+    private final boolean[] window;
+    private int windowPosition;
+    private int recordedCalls;
+    private int recordedFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private long lastProbeAt;
+    private boolean probeInFlight;
+    private int successfulProbes;
+
+    /**
+     * @param operation     The operation name used in messages and to tag the metrics.
+     * @param properties    The thresholds and timings of the breaker.
+     * @param meterRegistry The registry the state gauge and the transition and rejection counters are registered with.
+     */
+    public CircuitBreaker(String operation, CircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this.operation = operation;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.window = new boolean[Math.max(1, properties.getSlidingWindowSize())];
+        this.rejectedCalls = Counter.builder("employee.upstream.circuit-breaker.rejected")
+                .description("Upstream calls rejected because the circuit breaker was open")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call unless the breaker rejects it, and records its outcome.
+     *
+     * @param call The upstream call.
+     * @return The result of the call.
+     * @throws UpstreamUnavailableException If the breaker is open, or half-open with no probe due.
+     */
+    public <T> T execute(Supplier<T> call) {
+        boolean probe = acquirePermission();
+        try {
+            T result = call.get();
+            onResult(probe, false);
+            return result;
+        } catch (UpstreamRateLimitedException e) {
+            onNotSent(probe);
+            throw e;
+        } catch (RuntimeException e) {
+            onResult(probe, isFailure(e));
+            throw e;
+        } catch (Error e) {
+            onResult(probe, false);
+            throw e;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return Whether the call may proceed as a probe; a closed breaker returns false.
+     */
+    private synchronized boolean acquirePermission() {
+        long now = System.nanoTime();
+        if (state == State.OPEN && now - openedAt >= properties.getOpenDuration().toNanos()) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.CLOSED) {
+            return false;
+        }
+        // the first probe after opening goes out at once, later ones are spaced by the probe interval
+        if (state == State.HALF_OPEN && !probeInFlight
+                && (lastProbeAt == 0 || now - lastProbeAt >= properties.getProbeInterval().toNanos())) {
+            probeInFlight = true;
+            lastProbeAt = now;
+            return true;
+        }
+        rejectedCalls.increment();
+        throw new UpstreamUnavailableException("Upstream " + operation + " is unavailable, circuit breaker is " +
+                state.name().toLowerCase().replace('_', '-'));
+    }
+
+    private synchronized void onResult(boolean probe, boolean failure) {
+        if (probe) {
+            probeInFlight = false;
+            if (failure) {
+                open();
+            } else if (++successfulProbes >= properties.getProbesToClose()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // a call started before the breaker opened, its outcome is no longer relevant
+            return;
+        }
+        if (recordedCalls == window.length) {
+            if (window[windowPosition]) {
+                recordedFailures--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowPosition] = failure;
+        if (failure) {
+            recordedFailures++;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+        if (recordedCalls >= properties.getMinimumCalls()
+                && recordedFailures * 100 >= properties.getFailureRateThreshold() * recordedCalls) {
+            log.warn("Upstream {} failed {} of the last {} calls, opening the circuit breaker", operation,
+                    recordedFailures, recordedCalls);
+            open();
+        }
+    }
+
+    private synchronized void onNotSent(boolean probe) {
+        if (probe) {
+            probeInFlight = false;
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State next) {
+        if (state == next) {
+            return;
+        }
+        log.info("Circuit breaker for upstream {} changes from {} to {}", operation, state, next);
+        Counter.builder("employee.upstream.circuit-breaker.transitions")
+                .description("Circuit breaker state changes")
+                .tag("operation", operation)
+                .tag("from", state.name().toLowerCase())
+                .tag("to", next.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        state = next;
+        successfulProbes = 0;
+        lastProbeAt = 0;
+        recordedCalls = 0;
+        recordedFailures = 0;
+        windowPosition = 0;
+    }
+
+    private static boolean isFailure(RuntimeException e) {
+        if (e instanceof HttpServerErrorException || e instanceof ResourceAccessException) {
+            return true;
+        }
+        return e instanceof HttpClientErrorException
+                && ((HttpClientErrorException) e).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
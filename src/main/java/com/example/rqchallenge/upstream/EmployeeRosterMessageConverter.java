@@ -0,0 +1,170 @@
+package com.example.rqchallenge.upstream;
+
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.model.EmployeeRosterResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the employee list response of the external API token by token into employee entities.
+ * <p>
+ * The body is parsed as it arrives from the connection and every record becomes its {@link Employee}
+ * in one pass, without buffering the body or building an intermediate list of
+ * {@link com.example.rqchallenge.model.EmployeeModel}s. Numbers are accepted as JSON numbers or as
+ * numeric strings, with floating point numbers truncated to integers, and unknown fields are skipped,
+ * matching what the Jackson binding of the models accepts.
+ */
+public class EmployeeRosterMessageConverter extends AbstractHttpMessageConverter<EmployeeRosterResponse> {
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * @param jsonFactory The factory creating the parsers, usually the one of the application object mapper.
+     */
+    public EmployeeRosterMessageConverter(JsonFactory jsonFactory) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EmployeeRosterResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EmployeeRosterResponse readInternal(Class<? extends EmployeeRosterResponse> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(inputMessage.getBody())) {
+            return read(parser);
+        } catch (JsonProcessingException e) {
+            // also covers numbers out of the integer range, which Jackson reports as an InputCoercionException
+            throw new HttpMessageNotReadableException("Invalid employee list response: " + e.getOriginalMessage(), e,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(EmployeeRosterResponse employeeRosterResponse, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Employee list responses are only read");
+    }
+
+    /**
+     * Reads one employee list response.
+     *
+     * @param parser The parser positioned before the response object.
+     * @return The response; an empty body or a JSON null yields null.
+     * @throws JsonProcessingException If the body is not an employee list response or a number does not fit an integer.
+     */
+    public static EmployeeRosterResponse read(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_OBJECT);
+        EmployeeRosterResponse response = new EmployeeRosterResponse();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("status".equals(field)) {
+                response.setStatus(readString(parser));
+            } else if ("data".equals(field)) {
+                response.setData(readEmployees(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    private static List<Employee> readEmployees(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(parser, JsonToken.START_ARRAY);
+        List<Employee> employees = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser, JsonToken.START_OBJECT);
+            employees.add(readEmployee(parser));
+        }
+        return employees;
+    }
+
+    private static Employee readEmployee(JsonParser parser) throws IOException {
+        Employee employee = new Employee();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "id":
+                    employee.setId(readInteger(parser));
+                    break;
+                case "employee_name":
+                    employee.setName(readString(parser));
+                    break;
+                case "employee_salary":
+                    employee.setSalary(readInteger(parser));
+                    break;
+                case "employee_age":
+                    employee.setAge(readInteger(parser));
+                    break;
+                case "profile_image":
+                    employee.setProfileImage(readString(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return employee;
+    }
+
+    private static String readString(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    private static Integer readInteger(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                // as with ACCEPT_FLOAT_AS_INT, on by default, a fraction is truncated
+                return parser.getIntValue();
+            case VALUE_STRING:
+                String text = parser.getText().trim();
+                if (text.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Integer.valueOf(text);
+                } catch (NumberFormatException e) {
+                    throw new JsonParseException(parser, "Expected an integer but found \"" + text + "\"");
+                }
+            default:
+                throw new JsonParseException(parser, "Expected an integer but found " + parser.currentToken());
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws JsonParseException {
+        if (parser.currentToken() != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + parser.currentToken());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.rqchallenge.upstream;
+
+import com.example.rqchallenge.config.RateLimiterProperties;
+import com.example.rqchallenge.exception.UpstreamRateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Token bucket limiting the rate of one upstream operation.
+ * <p>
+ * Permits are added at a fixed rate and up to {@code burst} of them are stored while the operation is
+ * idle. A call without a stored permit reserves the next one and waits for it, as long as the wait is
+ * within {@code max-wait} and fewer than {@code max-queued} calls are already waiting; otherwise it is
+ * rejected at once with {@link UpstreamRateLimitedException}. A 429 response from the upstream drops
+ * the stored permits and holds back the next permit until its {@code Retry-After} has passed.
+ * <p>
+ * Bulk requests fan out through {@link #executePaced(Supplier, long)} instead, which waits for a permit
+ * until the deadline of the bulk request rather than for {@code max-wait}. Paced calls reserve one permit
+ * at a time, so a large bulk request runs at the permit rate and never holds more than one permit ahead
+ * of the single calls.
+ */
+@Slf4j
+public class RateLimiter {
+
+    private final String operation;
+    private final RateLimiterProperties properties;
+    private final long permitIntervalNanos;
+    private final int burst;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final ReentrantLock pacedLane = new ReentrantLock(true);
+    private final Counter queuedCalls;
+    private final Counter rejectedCalls;
+    private final Counter throttledResponses;
+
+    private double storedPermits;
+    private long nextPermitAt;
+
+    /**
+     * @param operation     The operation name used to pick its rate and to tag the metrics.
+     * @param properties    The rates, burst and queue limits.
+     * @param meterRegistry The registry the queue and rejection metrics are registered with.
+     */
+    public RateLimiter(String operation, RateLimiterProperties properties, MeterRegistry meterRegistry) {
+        this.operation = operation;
+        this.properties = properties;
+        this.permitIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getPermitsPerSecond(operation));
+        this.burst = Math.max(1, properties.getBurst());
+        this.storedPermits = burst;
+        this.nextPermitAt = System.nanoTime();
+        this.queuedCalls = Counter.builder("employee.upstream.rate-limiter.queued")
+                .description("Upstream calls that waited for a permit")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        this.rejectedCalls = Counter.builder("employee.upstream.rate-limiter.rejected")
+                .description("Upstream calls rejected by the client-side rate limiter")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        this.throttledResponses = Counter.builder("employee.upstream.rate-limiter.throttled")
+                .description("429 responses received from the upstream")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.rate-limiter.waiting", waiting, AtomicInteger::get)
+                .description("Upstream calls currently waiting for a permit")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for a permit, runs the call and adapts to a 429 response.
+     *
+     * @param call The upstream call.
+     * @return The result of the call.
+     * @throws UpstreamRateLimitedException If no permit is available within the configured limits.
+     */
+    public <T> T execute(Supplier<T> call) {
+        awaitPermit(reserve(properties.getMaxWait().toNanos(), true));
+        return call(call);
+    }
+
+    /**
+     * Waits for a permit until a deadline instead of the {@code max-wait} and {@code max-queued} limits of a
+     * single call, runs the call and adapts to a 429 response. Paced calls take their permits one after the
+     * other.
+     *
+     * @param call          The upstream call.
+     * @param deadlineNanos The {@link System#nanoTime()} by which the permit has to be available.
+     * @return The result of the call.
+     * @throws UpstreamRateLimitedException If no permit is available by the deadline, or if interrupted
+     *                                      while waiting for one.
+     */
+    public <T> T executePaced(Supplier<T> call, long deadlineNanos) {
+        long now = System.nanoTime();
+        if (deadlineNanos - now < 0) {
+            rejectedCalls.increment();
+            throw new UpstreamRateLimitedException("Upstream " + operation + " rate limit exceeded, " +
+                    "the deadline of the bulk request has passed");
+        }
+        return executePaced(call, now, deadlineNanos - now);
+    }
+
+    private <T> T executePaced(Supplier<T> call, long startNanos, long timeoutNanos) {
+        try {
+            if (!pacedLane.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejectedCalls.increment();
+                throw new UpstreamRateLimitedException("Upstream " + operation + " rate limit exceeded, " +
+                        "no permit before the deadline of the bulk request");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamRateLimitedException("Interrupted while waiting for an upstream " + operation + " permit");
+        }
+        try {
+            awaitPermit(reserve(Math.max(0, timeoutNanos - (System.nanoTime() - startNanos)), false));
+        } finally {
+            pacedLane.unlock();
+        }
+        return call(call);
+    }
+
+    private <T> T call(Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                onThrottled(e.getResponseHeaders());
+            }
+            throw e;
+        }
+    }
+
+    private void awaitPermit(long waitNanos) {
+        if (waitNanos == 0) {
+            return;
+        }
+        queuedCalls.increment();
+        try {
+            long deadline = System.nanoTime() + waitNanos;
+            for (long remaining = waitNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    throw new UpstreamRateLimitedException("Interrupted while waiting for an upstream " + operation + " permit");
+                }
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Takes the next permit and returns how long to wait for it, or rejects the call if the wait is longer
+     * than {@code maxWaitNanos} or, when the queue is {@code queueBounded}, too many calls are waiting.
+     */
+    private synchronized long reserve(long maxWaitNanos, boolean queueBounded) {
+        long now = System.nanoTime();
+        if (now > nextPermitAt) {
+            storedPermits = Math.min(burst, storedPermits + (double) (now - nextPermitAt) / permitIntervalNanos);
+            nextPermitAt = now;
+        }
+        double fromStored = Math.min(1, storedPermits);
+        long permitAt = nextPermitAt + (long) ((1 - fromStored) * permitIntervalNanos);
+        long waitNanos = Math.max(0, permitAt - now);
+        if (waitNanos > maxWaitNanos) {
+            rejectedCalls.increment();
+            throw new UpstreamRateLimitedException("Upstream " + operation + " rate limit exceeded, next permit in " +
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms");
+        }
+        if (queueBounded && waitNanos > 0 && waiting.get() >= properties.getMaxQueued()) {
+            rejectedCalls.increment();
+            throw new UpstreamRateLimitedException("Upstream " + operation + " rate limit exceeded, " +
+                    waiting.get() + " calls already waiting");
+        }
+        storedPermits -= fromStored;
+        nextPermitAt = permitAt;
+        if (waitNanos > 0) {
+            waiting.incrementAndGet();
+        }
+        return waitNanos;
+    }
+
+    private synchronized void onThrottled(HttpHeaders headers) {
+        throttledResponses.increment();
+        Duration retryAfter = retryAfter(headers);
+        // the next permit becomes available once Retry-After has passed
+        long resumeAt = System.nanoTime() + retryAfter.toNanos() - permitIntervalNanos;
+        storedPermits = 0;
+        if (resumeAt > nextPermitAt) {
+            nextPermitAt = resumeAt;
+        }
+        log.warn("Upstream {} answered 429, holding back further calls for {}", operation, retryAfter);
+    }
+
+    private Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return properties.getDefaultRetryAfter();
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // not delay-seconds, so it has to be an HTTP-date
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException e) {
+            log.warn("Ignoring unparseable Retry-After header '{}' from upstream {}", value, operation);
+            return properties.getDefaultRetryAfter();
+        }
+    }
+}
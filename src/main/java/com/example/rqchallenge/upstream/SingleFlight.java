@@ -0,0 +1,83 @@
+package com.example.rqchallenge.upstream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent calls for the same key.
+ * <p>
+ * The first caller for a key runs the call; callers arriving while it is in flight wait for it and
+ * receive the same result, or the same exception. Once the call completes the key is released and
+ * the next caller starts a new call.
+ *
+ * @param <K> The key identifying identical calls, e.g. the request URL.
+ * @param <V> The result type of the call.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCalls;
+    private final Counter coalescedCalls;
+
+    /**
+     * @param operation     The operation name used to tag the metrics.
+     * @param meterRegistry The registry the executed and coalesced call counters are registered with.
+     */
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.executedCalls = Counter.builder("employee.upstream.singleflight.executed")
+                .description("Upstream calls actually executed")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("employee.upstream.singleflight.coalesced")
+                .description("Calls that joined an identical in-flight upstream call")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call for the given key, or joins the call already in flight for it.
+     *
+     * @param key  The key identifying the call.
+     * @param call The call to run if none is in flight for the key.
+     * @return The result of the call.
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+        executedCalls.increment();
+        try {
+            V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
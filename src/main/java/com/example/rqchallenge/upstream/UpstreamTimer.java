@@ -0,0 +1,87 @@
+package com.example.rqchallenge.upstream;
+
+import com.example.rqchallenge.exception.UpstreamRateLimitedException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.function.Supplier;
+
+/**
+ * Times the calls of one upstream operation, tagged with their outcome.
+ * <p>
+ * The time includes waiting for a rate limiter permit, so that it is the latency the caller sees. Calls
+ * the circuit breaker or the rate limiter reject without reaching the upstream are tagged apart, so
+ * that they do not skew the latency of the calls that did.
+ */
+public class UpstreamTimer {
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_CIRCUIT_OPEN = "circuit-open";
+    static final String OUTCOME_RATE_LIMITED = "rate-limited";
+    static final String OUTCOME_CLIENT_ERROR = "client-error";
+    static final String OUTCOME_SERVER_ERROR = "server-error";
+    static final String OUTCOME_ERROR = "error";
+
+    private final String operation;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param operation     The operation name used to tag the timer.
+     * @param meterRegistry The registry the timer is registered with.
+     */
+    public UpstreamTimer(String operation, MeterRegistry meterRegistry) {
+        this.operation = operation;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs the call and records its duration and outcome.
+     *
+     * @param call The upstream call, including its circuit breaker and rate limiter.
+     * @return The result of the call.
+     */
+    public <T> T execute(Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = call.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("employee.upstream.requests")
+                    .description("Upstream calls, including the wait for a rate limiter permit")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @param e The exception a call failed with.
+     * @return The outcome tag of the failure, also used to tag cache db fallbacks.
+     */
+    public static String outcomeOf(RuntimeException e) {
+        if (e instanceof UpstreamUnavailableException) {
+            return OUTCOME_CIRCUIT_OPEN;
+        }
+        if (e instanceof UpstreamRateLimitedException
+                || (e instanceof HttpClientErrorException
+                && ((HttpClientErrorException) e).getStatusCode() == HttpStatus.TOO_MANY_REQUESTS)) {
+            return OUTCOME_RATE_LIMITED;
+        }
+        if (e instanceof HttpClientErrorException) {
+            return OUTCOME_CLIENT_ERROR;
+        }
+        if (e instanceof HttpServerErrorException) {
+            return OUTCOME_SERVER_ERROR;
+        }
+        return OUTCOME_ERROR;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.rqchallenge;
+
+import com.example.rqchallenge.cache.CacheDbWriter;
+import com.example.rqchallenge.config.UpstreamProperties;
+import com.example.rqchallenge.exception.EmployeeDataNotFoundException;
+import com.example.rqchallenge.helper.ReactiveEmployeeHelper;
+import com.example.rqchallenge.model.Employee;
+import com.example.rqchallenge.repository.EmployeeRepository;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.example.rqchallenge.constant.EmployeeConstant.OPERATION_CREATE;
+import static com.example.rqchallenge.constant.EmployeeConstant.OPERATION_DELETE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ReactiveEmployeeHelperTests {
+
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository = mock(EmployeeRepository.class);
+    }
+
+    private ReactiveEmployeeHelper helperAnswering(HttpStatus status, String body) {
+        // same constructor-based model binding as the auto-configured ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new ParameterNamesModule(JsonCreator.Mode.DEFAULT))
+                .build();
+        ExchangeStrategies exchangeStrategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper)))
+                .build();
+        ExchangeFunction exchangeFunction = request -> Mono.just(ClientResponse.create(status, exchangeStrategies)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+        WebClient.Builder webClientBuilder = WebClient.builder()
+                .exchangeFunction(exchangeFunction)
+                .exchangeStrategies(exchangeStrategies);
+        return new ReactiveEmployeeHelper(webClientBuilder, employeeRepository);
+    }
+
+    @Test
+    public void fetchEmployeeDetailsByIdTest() {
+        ReactiveEmployeeHelper reactiveEmployeeHelper = helperAnswering(HttpStatus.OK,
+                "{\"status\":\"success\",\"data\":{\"id\":1,\"employee_name\":\"Dhiraj\",\"employee_salary\":4512," +
+                        "\"employee_age\":23,\"profile_image\":\"\"}}");
+
+        Employee employee = reactiveEmployeeHelper.fetchEmployeeDetailsById(1).block();
+
+        assertEquals(new Employee(1,"Dhiraj",4512,23,""), employee);
+        verify(employeeRepository).save(employee);
+    }
+
+    @Test
+    public void fetchEmployeeDetailsByIdTest_tooManyRequest() {
+        ReactiveEmployeeHelper reactiveEmployeeHelper = helperAnswering(HttpStatus.TOO_MANY_REQUESTS, "{}");
+        Employee mockedEmployee = new Employee(1,"Dhiraj",23,4545,"");
+        when(employeeRepository.findById(1)).thenReturn(Optional.of(mockedEmployee));
+
+        assertEquals(mockedEmployee, reactiveEmployeeHelper.fetchEmployeeDetailsById(1).block());
+    }
+
+    @Test
+    public void fetchEmployeeDetailsByIdTest_emptyResponse() {
+        ReactiveEmployeeHelper reactiveEmployeeHelper = helperAnswering(HttpStatus.OK, "{\"status\":\"success\"}");
+
+        EmployeeDataNotFoundException exception = assertThrows(EmployeeDataNotFoundException.class,
+                () -> reactiveEmployeeHelper.fetchEmployeeDetailsById(1).block());
+        assertEquals("Data Not Found", exception.getMessage());
+    }
+
+    @Test
+    public void saveEmployeesIntoCacheDb_countsAFailedBatchInsteadOfFailing() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReactiveEmployeeHelper reactiveEmployeeHelper = new ReactiveEmployeeHelper(WebClient.builder(), employeeRepository,
+                new CacheDbWriter(employeeRepository), new UpstreamProperties(), meterRegistry);
+        List<Employee> created = Collections.singletonList(new Employee(1,"Dhiraj",4512,23,""));
+        when(employeeRepository.upsertAll(created)).thenThrow(new RuntimeException("cache db down"));
+
+        reactiveEmployeeHelper.saveEmployeesIntoCacheDb(created).block();
+
+        assertEquals(1, meterRegistry.get("employee.cache-db.batch-failures")
+                .tag("operation", OPERATION_CREATE).counter().count());
+    }
+
+    @Test
+    public void deleteEmployeesFromCacheDb_countsAFailedBatchInsteadOfFailing() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReactiveEmployeeHelper reactiveEmployeeHelper = new ReactiveEmployeeHelper(WebClient.builder(), employeeRepository,
+                new CacheDbWriter(employeeRepository), new UpstreamProperties(), meterRegistry);
+        doThrow(new RuntimeException("cache db down")).when(employeeRepository).deleteAllByIdInBatch(any());
+
+        reactiveEmployeeHelper.deleteEmployeesFromCacheDb(Collections.singletonList(1)).block();
+
+        assertEquals(1, meterRegistry.get("employee.cache-db.batch-failures")
+                .tag("operation", OPERATION_DELETE).counter().count());
+    }
+
+    @Test
+    public void createEmployee_tooManyRequest() {
+        ReactiveEmployeeHelper reactiveEmployeeHelper = helperAnswering(HttpStatus.TOO_MANY_REQUESTS, "{}");
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", "Dhiraj");
+        data.put("salary", "4512");
+        data.put("age", "23");
+
+        assertThrows(HttpClientErrorException.class, () -> reactiveEmployeeHelper.createEmployee(data).block());
+    }
+}
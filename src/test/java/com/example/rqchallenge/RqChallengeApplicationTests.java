@@ -1,20 +1,54 @@
 package com.example.rqchallenge;
 
+import com.example.rqchallenge.cache.CacheDbWriter;
+import com.example.rqchallenge.cache.EmployeeDigest;
+import com.example.rqchallenge.cache.EmployeeRosterCache;
+import com.example.rqchallenge.cache.NameSearchIndex;
+import com.example.rqchallenge.cache.RosterColumns;
+import com.example.rqchallenge.cache.RosterCursor;
+import com.example.rqchallenge.cache.RosterPage;
+import com.example.rqchallenge.cache.RosterSnapshot;
+import com.example.rqchallenge.cache.SalaryAnalytics;
+import com.example.rqchallenge.cache.SalarySketch;
+import com.example.rqchallenge.config.BulkProperties;
+import com.example.rqchallenge.config.CacheDbProperties;
+import com.example.rqchallenge.config.CircuitBreakerProperties;
+import com.example.rqchallenge.config.RateLimiterProperties;
+import com.example.rqchallenge.config.RosterProperties;
+import com.example.rqchallenge.config.UpstreamProperties;
+import com.example.rqchallenge.config.VirtualThreads;
+import com.example.rqchallenge.controller.EmployeeController;
 import com.example.rqchallenge.exception.EmployeeDataNotFoundException;
+import com.example.rqchallenge.exception.RosterCursorExpiredException;
+import com.example.rqchallenge.exception.UpstreamRateLimitedException;
+import com.example.rqchallenge.exception.UpstreamUnavailableException;
 import com.example.rqchallenge.helper.EmployeeHelper;
 import com.example.rqchallenge.model.*;
 import com.example.rqchallenge.repository.EmployeeRepository;
 import com.example.rqchallenge.service.EmployeeService;
+import com.example.rqchallenge.upstream.CircuitBreaker;
+import com.example.rqchallenge.upstream.EmployeeRosterMessageConverter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.*;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 import static com.example.rqchallenge.constant.EmployeeConstant.*;
@@ -30,6 +64,9 @@ class RqChallengeApplicationTests {
     private EmployeeHelper employeeHelper;
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeRepository cacheDbRepository;
+
     @BeforeEach
     public void setup() {
         // Create mock objects
@@ -79,31 +116,395 @@ class RqChallengeApplicationTests {
         // Mock response for external API call
         List<EmployeeModel> mockEmployees = getMockListOfEmp();
 
-        EmployeeListResponse employeeListResponse = new EmployeeListResponse();
-        employeeListResponse.setData(mockEmployees);
-        employeeListResponse.setStatus("success");
-        ResponseEntity<EmployeeListResponse> mockResponse = ResponseEntity.ok(employeeListResponse);
+        EmployeeRosterResponse employeeRosterResponse = new EmployeeRosterResponse();
+        employeeRosterResponse.setData(mockEmployees.stream().map(EmployeeModel::convertEmployeeModelToEmployee).collect(Collectors.toList()));
+        employeeRosterResponse.setStatus("success");
+        ResponseEntity<EmployeeRosterResponse> mockResponse = ResponseEntity.ok(employeeRosterResponse);
 
         //Mock the external API call
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class)).thenReturn(mockResponse);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class)).thenReturn(mockResponse);
         List<Employee> employeeList =mockEmployees.stream().map(EmployeeModel::convertEmployeeModelToEmployee).collect(Collectors.toList());
-        when(employeeRepository.saveAll(Mockito.<List<Employee>>any()))
-                .thenReturn(employeeList);
+        when(employeeRepository.upsertAll(Mockito.<List<Employee>>any()))
+                .thenReturn(employeeList.size());
 
         List<Employee> result = employeeService.getAllEmployees();
 
         // Verify results
         assertEquals(mockEmployees.size(), result.size());
-        assertEquals("success",employeeListResponse.getStatus());
+        assertEquals("success",employeeRosterResponse.getStatus());
+    }
+
+    @Test
+    public void employeeRosterMessageConverter_streamsTheListResponseIntoEmployees() throws Exception {
+        String body = "{\"status\":\"success\",\"data\":[" +
+                "{\"id\":1,\"employee_name\":\"Dhiraj\",\"employee_salary\":4500.0,\"employee_age\":23.9,\"profile_image\":\"\"}," +
+                "{\"id\":\"2\",\"employee_name\":\"Suraj\",\"employee_salary\":\"5500\",\"employee_age\":null," +
+                "\"profile_image\":\"\",\"manager\":{\"id\":1,\"tags\":[\"a\"]}}" +
+                "],\"message\":\"Successfully! All records has been fetched.\"}";
+        EmployeeRosterMessageConverter converter = new EmployeeRosterMessageConverter(new ObjectMapper().getFactory());
+
+        EmployeeRosterResponse response = converter.read(EmployeeRosterResponse.class,
+                new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals("success", response.getStatus());
+        assertEquals(Arrays.asList(new Employee(1,"Dhiraj",4500,23,""), new Employee(2,"Suraj",5500,null,"")),
+                response.getData());
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(EmployeeRosterResponse.class,
+                new MockHttpInputMessage("{\"data\":[{\"id\":\"one\"}]}".getBytes(StandardCharsets.UTF_8))));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(EmployeeRosterResponse.class,
+                new MockHttpInputMessage("{\"data\":[{\"id\":3000000000}]}".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void rosterSnapshot_keepsEmployeesInColumnsAndPatchesThem() {
+        List<Employee> employees = Arrays.asList(
+                new Employee(1,"Dhiraj",4500,23,""),
+                new Employee(2,"Jos\u00e9",null,26,"https://img/2"),
+                new Employee(null,null,5500,null,null),
+                new Employee(4,"Suraj",5500,31,""));
+        Instant fetchedAt = Instant.now().minusSeconds(60);
+        RosterSnapshot snapshot = new RosterSnapshot(1L, employees, fetchedAt, 0.01, 10);
+
+        assertEquals(employees, snapshot.getEmployees());
+        assertEquals(snapshot.getColumns(), RosterColumns.of(snapshot.getEmployees()));
+        assertEquals(Collections.singletonList(employees.get(1)), snapshot.getNameSearchIndex().search("JOSE"));
+        assertEquals(Arrays.asList(employees.get(0), employees.get(3)), snapshot.getNameSearchIndex().search("aj"));
+        assertEquals(5500, snapshot.getSalaryIndex().getHighestSalary());
+
+        RosterSnapshot replaced = snapshot.withEmployee(2L, new Employee(1,"Dhiraj",9000,24,""));
+        assertEquals(Arrays.asList(employees.get(1), employees.get(2), employees.get(3),
+                new Employee(1,"Dhiraj",9000,24,"")), replaced.getEmployees());
+        assertEquals(Arrays.asList("Dhiraj", "Suraj", null),
+                employeeService.getTopTenHighestEarningEmployeeNames(replaced));
+
+        RosterSnapshot removed = replaced.withoutEmployee(3L, 1);
+        assertEquals(Arrays.asList(employees.get(1), employees.get(2), employees.get(3)), removed.getEmployees());
+        assertEquals(5500, removed.getSalaryIndex().getHighestSalary());
+        assertEquals(Arrays.asList("Suraj", null), employeeService.getTopTenHighestEarningEmployeeNames(removed));
+        assertEquals(removed, removed.withoutEmployee(4L, 1));
+        // patches keep the time the roster was fetched, so they do not make it look fresh
+        assertEquals(fetchedAt, replaced.getCreatedAt());
+        RosterSnapshot batched = removed.withEmployees(5L, Arrays.asList(employees.get(0), new Employee(5,"Rajesh",4100,22,"")))
+                .withoutEmployees(6L, Collections.singletonList(2));
+        assertEquals(fetchedAt, batched.getCreatedAt());
+        // the name index is derived from the previous snapshot's and answers like one built from scratch
+        for (String query : Arrays.asList("", "s", "aj", "raj", "suraj", "jose", "rajesh")) {
+            assertEquals(NameSearchIndex.of(batched.getColumns()).search(query), batched.getNameSearchIndex().search(query));
+        }
+        assertEquals(Arrays.asList(employees.get(3), employees.get(0), new Employee(5,"Rajesh",4100,22,"")),
+                batched.getNameSearchIndex().search("raj"));
+    }
+
+    @Test
+    public void getTopEarners_breaksSalaryTiesByIdOnLargeRosters() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 100000; id > 0; id--) {
+            Integer salary = id % 97 == 0 ? null : 1000 + random.nextInt(500);
+            employees.add(new Employee(id % 1000 == 0 ? null : id, "emp" + id, salary, 30, ""));
+        }
+        RosterSnapshot snapshot = new RosterSnapshot(1L, employees, Instant.now(), 0.01, 10);
+        List<Employee> expected = employees.stream()
+                .filter(employee -> employee.getSalary() != null)
+                .sorted(Comparator.comparing(Employee::getSalary).reversed()
+                        .thenComparing(Employee::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(1000)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, new ArrayList<>(employeeService.getTopEarners(snapshot, "1000")));
+        assertEquals(expected.stream().limit(25).map(Employee::getName).collect(Collectors.toList()),
+                employeeService.getTopEarnerNames(snapshot, "25"));
+        assertEquals(employeeService.getTopTenHighestEarningEmployeeNames(snapshot),
+                employeeService.getTopEarnerNames(snapshot, null));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getTopEarners(snapshot, "1001"));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getTopEarnerNames(snapshot, "0"));
+        assertThrows(NumberFormatException.class, () -> employeeService.getTopEarners(snapshot, "ten"));
+    }
+
+    @Test
+    public void salarySketch_answersQuantilesWithinTheRelativeAccuracyAndMerges() {
+        Random random = new Random(7);
+        int[] salaries = new int[10000];
+        SalarySketch.Builder lower = SalarySketch.builder(0.01);
+        SalarySketch.Builder upper = SalarySketch.builder(0.01);
+        for (int index = 0; index < salaries.length; index++) {
+            salaries[index] = random.nextInt(200000) - 1000;
+            (index % 2 == 0 ? lower : upper).add(salaries[index]);
+        }
+        SalarySketch sketch = lower.build().merge(upper.build());
+        Arrays.sort(salaries);
+
+        for (double quantile : new double[]{0, 0.25, 0.5, 0.9, 0.99, 1}) {
+            int exact = salaries[(int) Math.floor(quantile * (salaries.length - 1))];
+            assertEquals(exact, sketch.getQuantile(quantile), Math.abs(exact) * 0.01 + 1e-9);
+        }
+        assertEquals(salaries.length, sketch.getHistogram(10).stream().mapToLong(SalarySketch.Bin::getCount).sum());
+        assertEquals(Arrays.stream(salaries).asLongStream().sum(), sketch.getSum());
+        assertEquals(1, SalarySketch.empty(0.01).withAdded(4500).withAdded(0).withRemoved(4500).getCount());
+        assertThrows(IllegalArgumentException.class, () -> SalarySketch.empty(0.01).withRemoved(4500));
+    }
+
+    @Test
+    public void salaryAnalytics_followCreatesAndDeletesOfTheRosterSnapshot() {
+        List<Employee> employees = getMockListOfEmp().stream()
+                .map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toList());
+        RosterSnapshot snapshot = new RosterSnapshot(1L, employees, Instant.now(), 0.01, 10);
+
+        Map<String, Integer> percentiles = employeeService.getSalaryPercentiles(snapshot, null);
+        assertEquals(Arrays.asList("p50", "p90", "p99"), new ArrayList<>(percentiles.keySet()));
+        assertEquals(4511, percentiles.get("p50"), 4511 * 0.01);
+        assertEquals(8400, employeeService.getSalaryPercentiles(snapshot, "100").get("p100"), 8400 * 0.01);
+        assertEquals(13, employeeService.getSalaryHistogram(snapshot, "4").stream()
+                .mapToLong(SalaryHistogramBucket::getCount).sum());
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getSalaryPercentiles(snapshot, "101"));
+        assertThrows(NumberFormatException.class, () -> employeeService.getSalaryHistogram(snapshot, "many"));
+
+        List<AgeBandSalaryStats> ageBands = employeeService.getSalaryStatsByAgeBand(snapshot);
+        assertEquals(Arrays.asList(10, 20, 30, 50), ageBands.stream().map(AgeBandSalaryStats::getMinAge)
+                .collect(Collectors.toList()));
+        assertEquals(8, ageBands.get(1).getCount());
+        assertEquals(6000, ageBands.get(0).getAverageSalary(), 0);
+
+        RosterSnapshot patched = snapshot.withEmployee(2L, new Employee(9, "Viraj", 9000, 41, ""))
+                .withoutEmployee(3L, 8);
+        assertEquals(Arrays.asList(20, 30, 40), employeeService.getSalaryStatsByAgeBand(patched).stream()
+                .map(AgeBandSalaryStats::getMinAge).collect(Collectors.toList()));
+        assertEquals(12, patched.getSalaryAnalytics().getSalaries().getCount());
+        assertEquals(SalaryAnalytics.of(patched.getColumns(), 0.01, 10).getSalaries().getSum(),
+                patched.getSalaryAnalytics().getSalaries().getSum());
+        assertThrows(EmployeeDataNotFoundException.class, () -> employeeService.getSalaryPercentiles(
+                new RosterSnapshot(4L, Collections.singletonList(new Employee(1, "Dhiraj", null, 23, "")),
+                        Instant.now(), 0.01, 10), null));
+    }
+
+    @Test
+    public void upsertAll_insertsNewAndUpdatesExistingCacheDbRows() {
+        cacheDbRepository.upsertAll(Arrays.asList(
+                new Employee(9001,"Dhiraj",4500,23,""),
+                new Employee(9002,"Suraj",null,26,null)));
+        cacheDbRepository.upsertAll(Arrays.asList(
+                new Employee(9002,"Suraj",5500,27,""),
+                new Employee(9003,"Rajesh",4100,22,"")));
+
+        assertEquals(new Employee(9001,"Dhiraj",4500,23,""), cacheDbRepository.findById(9001).orElse(null));
+        assertEquals(new Employee(9002,"Suraj",5500,27,""), cacheDbRepository.findById(9002).orElse(null));
+        assertEquals(new Employee(9003,"Rajesh",4100,22,""), cacheDbRepository.findById(9003).orElse(null));
+
+        cacheDbRepository.deleteAllByIdInBatch(Arrays.asList(9001,9002,9003));
+    }
+
+    @Test
+    public void cacheDbWriter_writeBehindCoalescesQueuedMutationsAndDrainsOnStop() throws Exception {
+        CacheDbProperties cacheDbProperties = new CacheDbProperties();
+        cacheDbProperties.setWriteMode(CacheDbProperties.WriteMode.WRITE_BEHIND);
+        CacheDbWriter cacheDbWriter = new CacheDbWriter(employeeRepository, cacheDbProperties, new SimpleMeterRegistry());
+        List<Employee> roster = Collections.singletonList(new Employee(1,"Dhiraj",4500,23,""));
+        CountDownLatch rosterWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseRosterWrite = new CountDownLatch(1);
+        when(employeeRepository.upsertAll(roster)).thenAnswer(invocation -> {
+            rosterWriteStarted.countDown();
+            releaseRosterWrite.await();
+            return roster.size();
+        });
+
+        cacheDbWriter.start();
+        cacheDbWriter.saveAll(roster);
+        rosterWriteStarted.await(5, TimeUnit.SECONDS);
+        // the writer is busy with the roster, so these accumulate in the queue
+        cacheDbWriter.save(new Employee(2,"Suraj",5500,26,""));
+        cacheDbWriter.save(new Employee(2,"Suraj",6000,26,""));
+        cacheDbWriter.delete(3);
+        assertEquals(2, cacheDbWriter.getQueueDepth());
+
+        releaseRosterWrite.countDown();
+        cacheDbWriter.stop();
+
+        assertEquals(0, cacheDbWriter.getQueueDepth());
+        verify(employeeRepository).upsertAll(Collections.singletonList(new Employee(2,"Suraj",6000,26,"")));
+        verify(employeeRepository).deleteAllByIdInBatch(Collections.singletonList(3));
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    public void fetchAllEmployeeData_unchangedRosterSkipsConversionAndCacheDbWrites() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper skippingHelper = new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), new RateLimiterProperties(), meterRegistry);
+        EmployeeRosterResponse employeeRosterResponse = new EmployeeRosterResponse();
+        employeeRosterResponse.setData(getMockListOfEmp().stream().map(EmployeeModel::convertEmployeeModelToEmployee).collect(Collectors.toList()));
+        HttpHeaders validators = new HttpHeaders();
+        validators.setETag("\"roster-1\"");
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.putAll(getEntity().getHeaders());
+        conditionalHeaders.setIfNoneMatch("\"roster-1\"");
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeRosterResponse, validators, HttpStatus.OK));
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,new HttpEntity<>(conditionalHeaders),EmployeeRosterResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeRosterResponse, validators, HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(validators, HttpStatus.NOT_MODIFIED));
+
+        // the second response ignores If-None-Match but is matched by its digest, the third one is a 304
+        List<Employee> fetched = skippingHelper.fetchAllEmployeeData();
+        skippingHelper.fetchAllEmployeeData();
+        List<Employee> revalidated = skippingHelper.fetchAllEmployeeData();
+
+        assertEquals(true, fetched == revalidated);
+        verify(employeeRepository, times(1)).upsertAll(Mockito.<List<Employee>>any());
+        assertEquals(1, meterRegistry.get("employee.roster.refresh.skipped").tag("reason", "unchanged-digest").counter().count());
+        assertEquals(1, meterRegistry.get("employee.roster.refresh.skipped").tag("reason", "not-modified").counter().count());
+    }
+
+    @Test
+    public void fetchAllEmployeeData_openCircuitBreakerServesCacheDbWithoutCallingUpstream() {
+        CircuitBreakerProperties circuitBreakerProperties = new CircuitBreakerProperties();
+        circuitBreakerProperties.setSlidingWindowSize(2);
+        circuitBreakerProperties.setMinimumCalls(2);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper breakingHelper = new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), circuitBreakerProperties, new RateLimiterProperties(), meterRegistry);
+        List<Employee> cachedEmployees = Collections.singletonList(new Employee(1,"Dhiraj",4500,23,""));
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        when(employeeRepository.findAll()).thenReturn(cachedEmployees);
+
+        assertEquals(cachedEmployees, breakingHelper.fetchAllEmployeeData());
+        assertEquals(cachedEmployees, breakingHelper.fetchAllEmployeeData());
+        assertEquals(cachedEmployees, breakingHelper.fetchAllEmployeeData());
+
+        verify(restTemplate, times(2))
+                .exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class);
+        assertEquals(CircuitBreaker.State.OPEN.ordinal(), meterRegistry.get("employee.upstream.circuit-breaker.state")
+                .tag("operation", OPERATION_LIST).gauge().value());
+        assertEquals(1, meterRegistry.get("employee.upstream.circuit-breaker.rejected")
+                .tag("operation", OPERATION_LIST).counter().count());
+    }
+
+    @Test
+    public void deleteEmployeeDetailsById_halfOpenCircuitBreakerRateLimitsProbes() {
+        CircuitBreakerProperties circuitBreakerProperties = new CircuitBreakerProperties();
+        circuitBreakerProperties.setSlidingWindowSize(1);
+        circuitBreakerProperties.setMinimumCalls(1);
+        circuitBreakerProperties.setOpenDuration(Duration.ZERO);
+        circuitBreakerProperties.setProbeInterval(Duration.ofMinutes(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper breakingHelper = new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), circuitBreakerProperties, new RateLimiterProperties(), meterRegistry);
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        String url = BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+12;
+        when(restTemplate.exchange(url, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))
+                .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+
+        assertThrows(HttpServerErrorException.class, () -> breakingHelper.deleteEmployeeDetailsById(12));
+        // the first probe goes out at once, the next one only after the probe interval
+        assertEquals("successfully! deleted Record", breakingHelper.deleteEmployeeDetailsById(12));
+        assertThrows(UpstreamUnavailableException.class, () -> breakingHelper.deleteEmployeeDetailsById(12));
+
+        verify(restTemplate, times(2)).exchange(url, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class);
+        assertEquals(CircuitBreaker.State.HALF_OPEN.ordinal(), meterRegistry.get("employee.upstream.circuit-breaker.state")
+                .tag("operation", OPERATION_DELETE).gauge().value());
+        assertEquals(1, meterRegistry.get("employee.upstream.circuit-breaker.transitions")
+                .tags("operation", OPERATION_DELETE, "from", "open", "to", "half_open").counter().count());
+    }
+
+    @Test
+    public void createEmployee_rateLimiterRejectsCallsBeyondBurst() {
+        RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+        rateLimiterProperties.setBurst(1);
+        rateLimiterProperties.setMaxWait(Duration.ZERO);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper limitedHelper = new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), rateLimiterProperties, meterRegistry);
+        Map<String,Object> data = new HashMap<>();
+        data.put(EMP_NAME,"Dhiraj");
+        Employee createdEmployee = new Employee(1,"Dhiraj",4500,23,"");
+        EmployeeCreateResponse employeeCreateResponse = new EmployeeCreateResponse();
+        employeeCreateResponse.setData(createdEmployee);
+        when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(data),EmployeeCreateResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeCreateResponse, HttpStatus.OK));
+
+        assertEquals(createdEmployee, limitedHelper.createEmployee(data));
+        assertThrows(UpstreamRateLimitedException.class, () -> limitedHelper.createEmployee(data));
+
+        verify(restTemplate, times(1))
+                .exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(data),EmployeeCreateResponse.class);
+        assertEquals(1, meterRegistry.get("employee.upstream.rate-limiter.rejected")
+                .tag("operation", OPERATION_CREATE).counter().count());
+    }
+
+    @Test
+    public void fetchEmployeeDetailsById_rateLimiterHonoursRetryAfter() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper limitedHelper = new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), new RateLimiterProperties(),
+                meterRegistry);
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "60");
+        Employee cachedEmployee = new Employee(1,"Dhiraj",4500,23,"");
+        when(restTemplate.exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+1, HttpMethod.GET,getEntity(),EmployeeResponse.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                        retryAfter, null, null));
+        when(employeeRepository.findById(1)).thenReturn(Optional.of(cachedEmployee));
+
+        assertEquals(cachedEmployee, limitedHelper.fetchEmployeeDetailsById(1));
+        // the upstream asked for a minute of silence, more than the limiter lets a request wait
+        assertEquals(cachedEmployee, limitedHelper.fetchEmployeeDetailsById(1));
+
+        verify(restTemplate, times(1))
+                .exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+1, HttpMethod.GET,getEntity(),EmployeeResponse.class);
+        assertEquals(1, meterRegistry.get("employee.upstream.rate-limiter.throttled")
+                .tag("operation", OPERATION_GET_BY_ID).counter().count());
+    }
+
+    @Test
+    public void fetchAllEmployeeData_timesUpstreamCallsAndCountsCacheDbFallbacks() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper meteredHelper = new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), new RateLimiterProperties(),
+                meterRegistry);
+        EmployeeRosterCache meteredCache = new EmployeeRosterCache(meteredHelper, new RosterProperties(), meterRegistry);
+        List<Employee> cachedEmployees = Collections.singletonList(new Employee(1,"Dhiraj",4500,23,""));
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+        when(employeeRepository.findAll()).thenReturn(cachedEmployees);
+
+        assertEquals(true, Double.isNaN(meterRegistry.get("employee.roster.size").gauge().value()));
+        meteredCache.getSnapshot();
+        meteredCache.getSnapshot();
+
+        assertEquals(1, meterRegistry.get("employee.upstream.requests")
+                .tags("operation", OPERATION_LIST, "outcome", "server-error").timer().count());
+        assertEquals(1, meterRegistry.get("employee.cache-db.fallbacks")
+                .tags("operation", OPERATION_LIST, "reason", "server-error").counter().count());
+        assertEquals(1, meterRegistry.get("employee.roster.reads").tag("result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("employee.roster.reads").tag("result", "fresh").counter().count());
+        assertEquals(1, meterRegistry.get("employee.roster.size").gauge().value());
+    }
+
+    @Test
+    public void virtualThreads_runTasksOnNamedVirtualThreadsOrFailFastOnOlderJvms() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            assertThrows(IllegalStateException.class, () -> VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+            return;
+        }
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("http-vt-");
+        try {
+            assertEquals("http-vt-0", executor.submit(() -> Thread.currentThread().getName()).get());
+            assertEquals(true, executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread())).get());
+        } finally {
+            executor.shutdown();
+        }
     }
 
     @Test
     public void testFetchAllEmployeeData_emptyResponse() {
         // Mock empty response from restTemplate
-        EmployeeListResponse mockResponse = new EmployeeListResponse();
+        EmployeeRosterResponse mockResponse = new EmployeeRosterResponse();
         mockResponse.setData(Collections.emptyList());
-        ResponseEntity<EmployeeListResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        ResponseEntity<EmployeeRosterResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenReturn(mockResponseEntity);
 
         // Call the method under test and expect EmployeeDataNotFoundException
@@ -121,7 +522,7 @@ class RqChallengeApplicationTests {
         List<Employee> mockedResponse = Collections.singletonList(employee);
 
         // Mock HttpClientErrorException from restTemplate
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
 
         when(employeeRepository.findAll()).thenReturn(mockedResponse);
@@ -132,17 +533,654 @@ class RqChallengeApplicationTests {
         assertEquals(actualResult.size(),mockedResponse.size());
     }
 
-    public ResponseEntity<EmployeeListResponse> getMockedResponseEntity(List<EmployeeModel> employeeModelList){
+    @Test
+    public void getAllEmployees_servedFromRosterSnapshot() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+
+        employeeService.getAllEmployees();
+        employeeService.getHighestSalaryOfEmployees();
+        employeeService.getTopTenHighestEarningEmployeeNames();
+        List<Employee> result = employeeService.filterEmpNameFromSearchString("raj");
+
+        // Only the first read loads the roster, the others are served from the snapshot
+        verify(restTemplate, times(1))
+                .exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class);
+        assertEquals(7, result.size());
+        assertEquals(1L, employeeService.getRosterSnapshot().getVersion());
+    }
 
-        EmployeeListResponse employeeListResponse = new EmployeeListResponse();
-        employeeListResponse.setData(employeeModelList);
-        return new ResponseEntity<>(employeeListResponse,HttpStatus.OK);
+    @Test
+    public void createAndDeleteEmployee_updateRosterSnapshot() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        Map<String, Object> data = new HashMap()
+        {{
+            put("name", "Rahul");
+            put("salary", "9900");
+            put("age", "41");
+        }};
+        EmployeeCreateResponse employeeCreateResponse = new EmployeeCreateResponse();
+        employeeCreateResponse.setData(new Employee(14,"Rahul",9900,41,""));
+        when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(data), EmployeeCreateResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeCreateResponse, HttpStatus.OK));
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+12, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(data);
+        employeeService.deleteEmployeeById("12");
+
+        assertEquals(Integer.valueOf(9900), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(13, employeeService.getAllEmployees().size());
+        assertEquals(3L, employeeService.getRosterSnapshot().getVersion());
+    }
+
+    @Test
+    public void refresh_keepsCreatesAndDeletesAppliedWhileTheRosterWasFetched() {
+        EmployeeRosterCache cache = new EmployeeRosterCache(employeeHelper, new RosterProperties());
+        Employee created = new Employee(14,"Rahul",9900,41,"");
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()))
+                .thenAnswer(invocation -> {
+                    // the roster returned below was read upstream before these writes reached it
+                    cache.applyCreated(created);
+                    cache.applyDeleted(12);
+                    return getMockedResponseEntity(getMockListOfEmp());
+                });
+        cache.refresh();
+
+        RosterSnapshot refreshed = cache.refresh();
+
+        assertEquals(13, refreshed.getEmployees().size());
+        assertEquals(created, refreshed.findById(14));
+        assertEquals(null, refreshed.findById(12));
+        assertEquals(created, refreshed.getNameSearchIndex().search("Rahul").get(0));
+    }
+
+    @Test
+    public void refresh_revalidatesARosterWithTheSameDigestWhateverListItComesIn() {
+        EmployeeHelper copyingHelper = mock(EmployeeHelper.class);
+        List<Employee> employees = getMockListOfEmp().stream().map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toList());
+        String digest = EmployeeDigest.of(employees);
+        when(copyingHelper.fetchRoster())
+                .thenAnswer(invocation -> new FetchedRoster(new ArrayList<>(employees), digest))
+                .thenAnswer(invocation -> new FetchedRoster(new ArrayList<>(employees), digest))
+                .thenAnswer(invocation -> new FetchedRoster(new ArrayList<>(employees), null));
+        EmployeeRosterCache cache = new EmployeeRosterCache(copyingHelper, new RosterProperties());
+
+        RosterSnapshot loaded = cache.refresh();
+        RosterSnapshot revalidated = cache.refresh();
+        RosterSnapshot rebuilt = cache.refresh();
+
+        assertEquals(loaded.getVersion(), revalidated.getVersion());
+        assertEquals(true, loaded.getNameSearchIndex() == revalidated.getNameSearchIndex());
+        // a roster of unknown digest, read from the cache db, is never taken for unchanged
+        assertEquals(loaded.getVersion() + 1, rebuilt.getVersion());
+    }
+
+    @Test
+    public void getSnapshot_submitsOneBackgroundRefreshForABurstOfStaleReadsAndNoneOnceStopped() throws InterruptedException {
+        EmployeeHelper slowHelper = mock(EmployeeHelper.class);
+        List<Employee> employees = getMockListOfEmp().stream().map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toList());
+        CountDownLatch releaseRefresh = new CountDownLatch(1);
+        when(slowHelper.fetchRoster())
+                .thenAnswer(invocation -> new FetchedRoster(employees, null))
+                .thenAnswer(invocation -> {
+                    releaseRefresh.await();
+                    return new FetchedRoster(employees, null);
+                });
+        RosterProperties rosterProperties = new RosterProperties();
+        rosterProperties.setRefreshInterval(Duration.ZERO);
+        EmployeeRosterCache cache = new EmployeeRosterCache(slowHelper, rosterProperties);
+        RosterSnapshot loaded = cache.refresh();
+
+        for (int read = 0; read < 100; read++) {
+            assertEquals(loaded, cache.getSnapshot());
+        }
+        releaseRefresh.countDown();
+
+        for (int wait = 0; wait < 100 && !cache.getSnapshot(2L).isPresent(); wait++) {
+            Thread.sleep(10);
+        }
+        cache.stop();
+        // a stale read after shutdown still answers from the snapshot
+        assertEquals(2, cache.getSnapshot().getVersion());
+        verify(slowHelper, times(2)).fetchRoster();
+    }
+
+    @Test
+    public void createEmployees_reportsEveryItemAndSavesTheCreatedOnesInOneBatch() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        Map<String, Object> created = Map.of("name", "Rahul", "salary", "9900", "age", "41");
+        Map<String, Object> incomplete = Map.of("name", "Amit");
+        Map<String, Object> failed = Map.of("name", "Anil", "salary", "3000", "age", "35");
+        Map<String, Object> replaced = Map.of("name", "Rohit", "salary", "100", "age", "23");
+        Employee rahul = new Employee(14,"Rahul",9900,41,"");
+        Employee rohit = new Employee(12,"Rohit",100,23,"");
+        for (Map.Entry<Map<String, Object>, Employee> create : Map.of(created, rahul, replaced, rohit).entrySet()) {
+            EmployeeCreateResponse employeeCreateResponse = new EmployeeCreateResponse();
+            employeeCreateResponse.setData(create.getValue());
+            when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(create.getKey()), EmployeeCreateResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeCreateResponse, HttpStatus.OK));
+        }
+        when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(failed), EmployeeCreateResponse.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        employeeService.getAllEmployees();
+
+        List<BulkItemResult> results = employeeService.createEmployees(Arrays.asList(created, incomplete, failed, replaced));
+
+        assertEquals(Arrays.asList(201, 400, 500, 201),
+                results.stream().map(BulkItemResult::getStatus).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(rahul, null, null, rohit),
+                results.stream().map(BulkItemResult::getEmployee).collect(Collectors.toList()));
+        verify(restTemplate, never()).exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(incomplete), EmployeeCreateResponse.class);
+        verify(employeeRepository, times(1)).upsertAll(Arrays.asList(rahul, rohit));
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        assertEquals(2L, snapshot.getVersion());
+        assertEquals(14, snapshot.getEmployees().size());
+        assertEquals(rohit, snapshot.getEmployees().get(13));
+        assertEquals(Integer.valueOf(9900), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(Arrays.asList("Rahul", "Shivam", "Pavan"), employeeService.getTopTenHighestEarningEmployeeNames().subList(0, 3));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.createEmployees(Collections.emptyList()));
+    }
+
+    @Test
+    public void createEmployees_pacesTheCallsToTheRateLimiterAndKeepsTheResultsIfTheCacheDbFails() {
+        RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+        rateLimiterProperties.setBurst(1);
+        rateLimiterProperties.setMaxWait(Duration.ZERO);
+        rateLimiterProperties.getPermitsPerSecond().put(OPERATION_CREATE, 100.0);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeService pacedService = new EmployeeService(new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), rateLimiterProperties, meterRegistry));
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        List<Map<String, Object>> data = new ArrayList<>();
+        List<Employee> expected = new ArrayList<>();
+        for (int id = 20; id < 28; id++) {
+            Map<String, Object> employeeData = Map.of("name", "Emp" + id, "salary", "100", "age", "30");
+            Employee employee = new Employee(id,"Emp" + id,100,30,"");
+            EmployeeCreateResponse employeeCreateResponse = new EmployeeCreateResponse();
+            employeeCreateResponse.setData(employee);
+            when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(employeeData), EmployeeCreateResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeCreateResponse, HttpStatus.OK));
+            data.add(employeeData);
+            expected.add(employee);
+        }
+        Map<String, Object> empty = Map.of("name", "Amit", "salary", "100", "age", "30");
+        when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(empty), EmployeeCreateResponse.class))
+                .thenReturn(new ResponseEntity<>(new EmployeeCreateResponse(), HttpStatus.OK));
+        data.add(empty);
+        expected.add(null);
+        when(employeeRepository.upsertAll(expected.subList(0, 8))).thenThrow(new RuntimeException("cache db down"));
+        pacedService.getAllEmployees();
+
+        List<BulkItemResult> results = pacedService.createEmployees(data);
+
+        // nine creates against a burst of one and no single-call wait: each of them waits for its permit
+        assertEquals(Arrays.asList(201, 201, 201, 201, 201, 201, 201, 201, 500),
+                results.stream().map(BulkItemResult::getStatus).collect(Collectors.toList()));
+        assertEquals(expected, results.stream().map(BulkItemResult::getEmployee).collect(Collectors.toList()));
+        assertEquals(0, meterRegistry.get("employee.upstream.rate-limiter.rejected")
+                .tag("operation", OPERATION_CREATE).counter().count());
+        assertEquals(1, meterRegistry.get("employee.cache-db.batch-failures")
+                .tag("operation", OPERATION_CREATE).counter().count());
+        assertEquals(21, pacedService.getRosterSnapshot().getEmployees().size());
+    }
+
+    @Test
+    public void createEmployees_reportsTheCreatesWithoutAPermitBeforeTheDeadlineAsRateLimited() {
+        RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+        rateLimiterProperties.setBurst(2);
+        BulkProperties bulkProperties = new BulkProperties();
+        bulkProperties.setMaxWait(Duration.ofMillis(100));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper boundedHelper = new EmployeeHelper(restTemplate, employeeRepository, new CacheDbWriter(employeeRepository),
+                new CircuitBreakerProperties(), rateLimiterProperties, meterRegistry, new UpstreamProperties(), bulkProperties);
+        EmployeeService boundedService = new EmployeeService(boundedHelper, new EmployeeRosterCache(boundedHelper, new RosterProperties()),
+                new RosterProperties(), bulkProperties);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int id = 20; id < 25; id++) {
+            Map<String, Object> employeeData = Map.of("name", "Emp" + id, "salary", "100", "age", "30");
+            EmployeeCreateResponse employeeCreateResponse = new EmployeeCreateResponse();
+            employeeCreateResponse.setData(new Employee(id,"Emp" + id,100,30,""));
+            when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(employeeData), EmployeeCreateResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeCreateResponse, HttpStatus.OK));
+            data.add(employeeData);
+        }
+        boundedService.getAllEmployees();
+
+        List<BulkItemResult> results = boundedService.createEmployees(data);
+
+        // a burst of two and one permit a second: the third permit comes long after the deadline
+        assertEquals(Arrays.asList(201, 201, 429, 429, 429),
+                results.stream().map(BulkItemResult::getStatus).sorted().collect(Collectors.toList()));
+        assertEquals(3, meterRegistry.get("employee.upstream.rate-limiter.rejected")
+                .tag("operation", OPERATION_CREATE).counter().count());
+        assertEquals(15, boundedService.getRosterSnapshot().getEmployees().size());
+    }
+
+    @Test
+    public void deleteEmployeesByIds_reportsEveryIdAndPurgesTheDeletedOnesInOneStatement() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        for (int id : new int[]{12, 3}) {
+            when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+id, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+        }
+        when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+7, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        employeeService.getAllEmployees();
+
+        List<BulkItemResult> results = employeeService.deleteEmployeesByIds(Arrays.asList("12", "x", "3", "12", "7"));
+
+        assertEquals(Arrays.asList(200, 400, 200, 400, 500),
+                results.stream().map(BulkItemResult::getStatus).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(12, null, 3, null, 7),
+                results.stream().map(BulkItemResult::getId).collect(Collectors.toList()));
+        verify(employeeRepository, times(1)).deleteAllByIdInBatch(Arrays.asList(12, 3));
+        verify(employeeRepository, never()).findById(any());
+        RosterSnapshot snapshot = employeeService.getRosterSnapshot();
+        assertEquals(2L, snapshot.getVersion());
+        assertEquals(11, snapshot.getEmployees().size());
+        assertEquals(Integer.valueOf(7700), employeeService.getHighestSalaryOfEmployees());
+    }
+
+    @Test
+    public void deleteEmployeesByIds_pacesTheCallsToTheRateLimiterAndKeepsTheResultsIfTheCacheDbFails() {
+        RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+        rateLimiterProperties.setBurst(1);
+        rateLimiterProperties.setMaxWait(Duration.ZERO);
+        rateLimiterProperties.getPermitsPerSecond().put(OPERATION_DELETE, 100.0);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeService pacedService = new EmployeeService(new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), rateLimiterProperties, meterRegistry));
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        for (int id = 1; id <= 8; id++) {
+            when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+id, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+        }
+        when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+9, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        doThrow(new RuntimeException("cache db down")).when(employeeRepository).deleteAllByIdInBatch(any());
+        pacedService.getAllEmployees();
+
+        List<BulkItemResult> results = pacedService.deleteEmployeesByIds(Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8", "9"));
+
+        assertEquals(Arrays.asList(200, 200, 200, 200, 200, 200, 200, 200, 500),
+                results.stream().map(BulkItemResult::getStatus).collect(Collectors.toList()));
+        assertEquals(0, meterRegistry.get("employee.upstream.rate-limiter.rejected")
+                .tag("operation", OPERATION_DELETE).counter().count());
+        assertEquals(1, meterRegistry.get("employee.cache-db.batch-failures")
+                .tag("operation", OPERATION_DELETE).counter().count());
+        assertEquals(5, pacedService.getRosterSnapshot().getEmployees().size());
+    }
+
+    @Test
+    public void deleteEmployeesByIds_reportsTheDeletesWithoutAPermitBeforeTheDeadlineAsRateLimited() {
+        RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+        rateLimiterProperties.setBurst(1);
+        BulkProperties bulkProperties = new BulkProperties();
+        bulkProperties.setMaxWait(Duration.ofMillis(100));
+        EmployeeHelper boundedHelper = new EmployeeHelper(restTemplate, employeeRepository, new CacheDbWriter(employeeRepository),
+                new CircuitBreakerProperties(), rateLimiterProperties, new SimpleMeterRegistry(), new UpstreamProperties(), bulkProperties);
+        EmployeeService boundedService = new EmployeeService(boundedHelper, new EmployeeRosterCache(boundedHelper, new RosterProperties()),
+                new RosterProperties(), bulkProperties);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        for (int id = 1; id <= 4; id++) {
+            when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+id, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+        }
+        boundedService.getAllEmployees();
+
+        List<BulkItemResult> results = boundedService.deleteEmployeesByIds(Arrays.asList("1", "2", "3", "4"));
+
+        assertEquals(Arrays.asList(200, 429, 429, 429),
+                results.stream().map(BulkItemResult::getStatus).sorted().collect(Collectors.toList()));
+        assertEquals(12, boundedService.getRosterSnapshot().getEmployees().size());
+    }
+
+    @Test
+    public void getEmployeesByIds_servesHitsFromMemoryAndTheCacheDbAndFetchesOnlyTheMisses() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        Employee cachedEmployee = new Employee(20,"Ajay",3000,28,"");
+        Employee fetchedEmployee = new Employee(21,"Vijay",3100,29,"");
+        when(employeeRepository.findAllById(Arrays.asList(20, 21, 22))).thenReturn(Collections.singletonList(cachedEmployee));
+        EmployeeResponse employeeResponse = new EmployeeResponse();
+        employeeResponse.setData(new EmployeeModel(21,"Vijay",3100,29,""));
+        when(restTemplate.exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+21, HttpMethod.GET,getEntity(),EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeResponse, HttpStatus.OK));
+        when(restTemplate.exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+22, HttpMethod.GET,getEntity(),EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(new EmployeeResponse(), HttpStatus.OK));
+        employeeService.getAllEmployees();
+
+        List<BulkItemResult> results = employeeService.getEmployeesByIds("3, 20,x,21,3,22");
+
+        assertEquals(Arrays.asList(200, 200, 400, 200, 200, 404),
+                results.stream().map(BulkItemResult::getStatus).collect(Collectors.toList()));
+        Employee rajesh = new Employee(3,"Rajesh",4100,22,"");
+        assertEquals(Arrays.asList(rajesh, cachedEmployee, null, fetchedEmployee, rajesh, null),
+                results.stream().map(BulkItemResult::getEmployee).collect(Collectors.toList()));
+        assertEquals(Integer.valueOf(22), results.get(5).getId());
+        verify(restTemplate, never()).exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+3, HttpMethod.GET,getEntity(),EmployeeResponse.class);
+        verify(restTemplate, never()).exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+20, HttpMethod.GET,getEntity(),EmployeeResponse.class);
+        verify(employeeRepository, times(1)).upsertAll(Collections.singletonList(fetchedEmployee));
+        verify(employeeRepository, never()).findById(any());
+        // a request without the ids parameter is a bad request, not a server error
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByIds(null));
+    }
+
+    @Test
+    public void getEmployeesByIds_pacesTheMissesToTheRateLimiter() {
+        RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+        rateLimiterProperties.setBurst(1);
+        rateLimiterProperties.setMaxWait(Duration.ZERO);
+        rateLimiterProperties.getPermitsPerSecond().put(OPERATION_GET_BY_ID, 100.0);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeService pacedService = new EmployeeService(new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), rateLimiterProperties, meterRegistry));
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        List<Employee> expected = new ArrayList<>();
+        for (int id = 20; id < 28; id++) {
+            EmployeeResponse employeeResponse = new EmployeeResponse();
+            employeeResponse.setData(new EmployeeModel(id,"Emp" + id,100,30,""));
+            when(restTemplate.exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+id, HttpMethod.GET,getEntity(),EmployeeResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeResponse, HttpStatus.OK));
+            expected.add(new Employee(id,"Emp" + id,100,30,""));
+        }
+        pacedService.getAllEmployees();
+
+        List<BulkItemResult> results = pacedService.getEmployeesByIds("20,21,22,23,24,25,26,27");
+
+        assertEquals(Collections.nCopies(8, 200), results.stream().map(BulkItemResult::getStatus).collect(Collectors.toList()));
+        assertEquals(expected, results.stream().map(BulkItemResult::getEmployee).collect(Collectors.toList()));
+        assertEquals(0, meterRegistry.get("employee.upstream.rate-limiter.rejected")
+                .tag("operation", OPERATION_GET_BY_ID).counter().count());
+    }
+
+    @Test
+    public void getEmployeesByIds_reportsTheMissesWithoutAPermitBeforeTheDeadlineAsRateLimited() {
+        RateLimiterProperties rateLimiterProperties = new RateLimiterProperties();
+        rateLimiterProperties.setBurst(1);
+        BulkProperties bulkProperties = new BulkProperties();
+        bulkProperties.setMaxWait(Duration.ofMillis(100));
+        EmployeeHelper boundedHelper = new EmployeeHelper(restTemplate, employeeRepository, new CacheDbWriter(employeeRepository),
+                new CircuitBreakerProperties(), rateLimiterProperties, new SimpleMeterRegistry(), new UpstreamProperties(), bulkProperties);
+        EmployeeService boundedService = new EmployeeService(boundedHelper, new EmployeeRosterCache(boundedHelper, new RosterProperties()),
+                new RosterProperties(), bulkProperties);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        for (int id = 20; id < 24; id++) {
+            EmployeeResponse employeeResponse = new EmployeeResponse();
+            employeeResponse.setData(new EmployeeModel(id,"Emp" + id,100,30,""));
+            when(restTemplate.exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+id, HttpMethod.GET,getEntity(),EmployeeResponse.class))
+                    .thenReturn(new ResponseEntity<>(employeeResponse, HttpStatus.OK));
+        }
+        boundedService.getAllEmployees();
+
+        List<BulkItemResult> results = boundedService.getEmployeesByIds("3,20,21,22,23");
+
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals(Arrays.asList(200, 429, 429, 429),
+                results.subList(1, 5).stream().map(BulkItemResult::getStatus).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void getEmployeeDetailsById_servesTheRosterAndRemembersIdsTheExternalApiDoesNotHave() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        when(restTemplate.exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+99, HttpMethod.GET,getEntity(),EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(new EmployeeResponse(), HttpStatus.OK));
+        employeeService.getAllEmployees();
+
+        assertEquals(new Employee(3,"Rajesh",4100,22,""), employeeService.getEmployeeDetailsById("3"));
+        assertThrows(EmployeeDataNotFoundException.class, () -> employeeService.getEmployeeDetailsById("99"));
+        assertThrows(EmployeeDataNotFoundException.class, () -> employeeService.getEmployeeDetailsById("99"));
+
+        verify(restTemplate, never()).exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+3, HttpMethod.GET,getEntity(),EmployeeResponse.class);
+        verify(restTemplate, times(1)).exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+99, HttpMethod.GET,getEntity(),EmployeeResponse.class);
+
+        RosterProperties rosterProperties = new RosterProperties();
+        rosterProperties.setByIdMaxAge(Duration.ZERO);
+        EmployeeService upstreamFirstService = new EmployeeService(employeeHelper, rosterProperties);
+        EmployeeResponse employeeResponse = new EmployeeResponse();
+        employeeResponse.setData(new EmployeeModel(3,"Rajesh",4200,22,""));
+        when(restTemplate.exchange(BASE_URL+FETCH_EMPLOYEE_DETAILS_BY_ID+3, HttpMethod.GET,getEntity(),EmployeeResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeResponse, HttpStatus.OK));
+        upstreamFirstService.getAllEmployees();
+
+        assertEquals(Integer.valueOf(4200), upstreamFirstService.getEmployeeDetailsById("3").getSalary());
+    }
+
+    @Test
+    public void rememberNotFound_evictsExpiredIdsToMakeRoomForNewOnes() throws InterruptedException {
+        RosterProperties rosterProperties = new RosterProperties();
+        rosterProperties.setNotFoundTtl(Duration.ofMillis(50));
+        rosterProperties.setMaxNotFoundIds(2);
+        EmployeeRosterCache cache = new EmployeeRosterCache(employeeHelper, rosterProperties);
+
+        cache.rememberNotFound(97);
+        cache.rememberNotFound(98);
+        cache.rememberNotFound(99);
+
+        assertThrows(EmployeeDataNotFoundException.class, () -> cache.findById(97));
+        assertEquals(null, cache.findById(99));
+        Thread.sleep(60);
+        cache.rememberNotFound(99);
+        assertThrows(EmployeeDataNotFoundException.class, () -> cache.findById(99));
+        assertEquals(null, cache.findById(97));
+        assertEquals(Duration.ofSeconds(90), new RosterProperties().getByIdMaxAge());
+    }
+
+    @Test
+    public void getAllEmployeesPage_cursorWalksTheRosterVersionOfTheFirstPage() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        Map<String, Object> data = new HashMap()
+        {{
+            put("name", "Rahul");
+            put("salary", "9900");
+            put("age", "41");
+        }};
+        EmployeeCreateResponse employeeCreateResponse = new EmployeeCreateResponse();
+        employeeCreateResponse.setData(new Employee(14,"Rahul",9900,41,""));
+        when(restTemplate.exchange(BASE_URL+CREATE_EMPLOYEE_RECORD, HttpMethod.POST,new HttpEntity<>(data), EmployeeCreateResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeCreateResponse, HttpStatus.OK));
+
+        RosterPage firstPage = employeeService.getAllEmployeesPage("5", null);
+        employeeService.createEmployee(data);
+        RosterPage secondPage = employeeService.getAllEmployeesPage("5", firstPage.getNextCursor());
+        RosterPage lastPage = employeeService.getAllEmployeesPage("5", secondPage.getNextCursor());
+
+        List<Employee> walked = new ArrayList<>(firstPage.getEmployees());
+        walked.addAll(secondPage.getEmployees());
+        walked.addAll(lastPage.getEmployees());
+        assertEquals(getMockListOfEmp().stream().map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toList()), walked);
+        assertEquals(1L, lastPage.getSnapshot().getVersion());
+        assertEquals(null, lastPage.getNextCursor());
+        assertEquals(14, employeeService.getAllEmployeesPage("20", null).getEmployees().size());
+    }
+
+    @Test
+    public void filterEmpNameFromSearchStringPage_rejectsForeignAndExpiredCursors() {
+        RosterProperties rosterProperties = new RosterProperties();
+        rosterProperties.setRetainedVersions(1);
+        EmployeeService retainingService = new EmployeeService(employeeHelper, rosterProperties);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+12, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+
+        RosterPage firstPage = retainingService.filterEmpNameFromSearchStringPage("raj", "2", null);
+
+        assertEquals(2, firstPage.getEmployees().size());
+        assertThrows(IllegalArgumentException.class,
+                () -> retainingService.getAllEmployeesPage("2", firstPage.getNextCursor()));
+        assertThrows(IllegalArgumentException.class,
+                () -> retainingService.filterEmpNameFromSearchStringPage("raj", "0", null));
+        assertThrows(NumberFormatException.class,
+                () -> retainingService.filterEmpNameFromSearchStringPage("raj", "two", null));
+        // searches whose scopes share a String hash code still get their own cursors
+        assertEquals("search:az".hashCode(), "search:b[".hashCode());
+        String collidingCursor = RosterCursor.of(1L, 2, "search:az").encode();
+        assertThrows(IllegalArgumentException.class, () -> RosterCursor.decode(collidingCursor, "search:b["));
+        assertEquals(2, RosterCursor.decode(collidingCursor, "search:az").getOffset());
+        retainingService.deleteEmployeeById("12");
+        assertThrows(RosterCursorExpiredException.class,
+                () -> retainingService.filterEmpNameFromSearchStringPage("raj", "2", firstPage.getNextCursor()));
+    }
+
+    @Test
+    public void getTopTenHighestEarningEmployeeNames_answersNotModifiedUntilTheRosterChanges() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+12, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+        EmployeeController employeeController = new EmployeeController();
+        employeeController.employeeService = employeeService;
+        employeeController.objectMapper = new ObjectMapper();
+
+        ResponseEntity<List<String>> first = employeeController.getTopTenHighestEarningEmployeeNames(null);
+        String eTag = first.getHeaders().getETag();
+        ResponseEntity<List<String>> revalidated = employeeController.getTopTenHighestEarningEmployeeNames("W/" + eTag);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(null, revalidated.getBody());
+        assertEquals(eTag, revalidated.getHeaders().getETag());
+        // the same roster content behind another route or query never shares a tag
+        assertEquals(false, eTag.equals(employeeController.getHighestSalaryOfEmployees(null).getHeaders().getETag()));
+        assertEquals(false, employeeController.getAllEmployees(null, null, null).getHeaders().getETag()
+                .equals(employeeController.getAllEmployees("5", null, null).getHeaders().getETag()));
+        // "Aa" and "BB" share a String.hashCode
+        assertEquals(false, employeeController.getEmployeesByNameSearch("Aa", null, null, null).getHeaders().getETag()
+                .equals(employeeController.getEmployeesByNameSearch("BB", null, null, null).getHeaders().getETag()));
+
+        employeeService.deleteEmployeeById("12");
+        ResponseEntity<List<String>> changed = employeeController.getTopTenHighestEarningEmployeeNames(eTag);
+
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertEquals("Shivam", changed.getBody().get(0));
+    }
+
+    @Test
+    public void getAllEmployeesPage_revalidatingAfterARefreshWithTheSameContentHandsOutAFreshCursor() {
+        List<Employee> withRahul = getMockListOfEmp().stream().map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toCollection(ArrayList::new));
+        withRahul.add(new Employee(14,"Rahul",9900,41,""));
+        // the second fetch falls back to the cache db, whose roster has no digest to revalidate the snapshot by
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR));
+        when(employeeRepository.findAll()).thenReturn(withRahul);
+        RosterProperties rosterProperties = new RosterProperties();
+        EmployeeRosterCache cache = new EmployeeRosterCache(employeeHelper, rosterProperties);
+        EmployeeController employeeController = new EmployeeController();
+        employeeController.employeeService = new EmployeeService(employeeHelper, cache, rosterProperties, new BulkProperties());
+        employeeController.objectMapper = new ObjectMapper();
+        cache.refresh();
+        cache.applyCreated(new Employee(14,"Rahul",9900,41,""));
+        String digest = cache.getSnapshot().getContentDigest();
+
+        String eTag = employeeController.getAllEmployees("5", null, null).getHeaders().getETag();
+        RosterSnapshot refreshed = cache.refresh();
+        ResponseEntity<StreamingResponseBody> revalidated = employeeController.getAllEmployees("5", null, eTag);
+
+        // same content under a new version: the cached page's cursor would pin the old version
+        assertEquals(digest, refreshed.getContentDigest());
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals(String.valueOf(refreshed.getVersion()), revalidated.getHeaders().getFirst(ROSTER_VERSION_HEADER));
+        assertEquals(refreshed.getVersion(), RosterCursor.decode(revalidated.getHeaders().getFirst(NEXT_CURSOR_HEADER), "all").getVersion());
+        assertEquals(HttpStatus.NOT_MODIFIED, employeeController.getAllEmployees("5", null,
+                revalidated.getHeaders().getETag()).getStatusCode());
+    }
+
+    @Test
+    public void getTopTenHighestEarningEmployeeNames_afterDeletingHighestEarner() {
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(getMockListOfEmp()));
+        EmployeeDeleteResponse employeeDeleteResponse = new EmployeeDeleteResponse();
+        employeeDeleteResponse.setMessage("successfully! deleted Record");
+        when(restTemplate.exchange(BASE_URL+DELETE_EMPLOYEE_DETAILS_BY_ID+12, HttpMethod.DELETE,getEntity(),EmployeeDeleteResponse.class))
+                .thenReturn(new ResponseEntity<>(employeeDeleteResponse, HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        employeeService.deleteEmployeeById("12");
+
+        assertEquals(Integer.valueOf(7700), employeeService.getHighestSalaryOfEmployees());
+        assertEquals(Arrays.asList("Shivam","Pavan","Siraj","Viraj","Suraj","Virat","Dhiraj","Ramesh","Rajendra","Rajesh"),
+                employeeService.getTopTenHighestEarningEmployeeNames());
+    }
+
+    @Test
+    public void fetchAllEmployeeData_concurrentCallsShareOneUpstreamRequest() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EmployeeHelper coalescingHelper = new EmployeeHelper(restTemplate, employeeRepository,
+                new CacheDbWriter(employeeRepository), new CircuitBreakerProperties(), new RateLimiterProperties(), meterRegistry);
+        CountDownLatch upstreamEntered = new CountDownLatch(1);
+        CountDownLatch releaseUpstream = new CountDownLatch(1);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenAnswer(invocation -> {
+                    upstreamEntered.countDown();
+                    releaseUpstream.await(5, TimeUnit.SECONDS);
+                    return getMockedResponseEntity(getMockListOfEmp());
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Employee>> leader = executor.submit(coalescingHelper::fetchAllEmployeeData);
+            upstreamEntered.await(5, TimeUnit.SECONDS);
+            Future<List<Employee>> follower = executor.submit(coalescingHelper::fetchAllEmployeeData);
+            while (meterRegistry.counter("employee.upstream.singleflight.coalesced", "operation", "list").count() < 1) {
+                Thread.sleep(5);
+            }
+            releaseUpstream.countDown();
+
+            assertEquals(13, leader.get(5, TimeUnit.SECONDS).size());
+            assertEquals(13, follower.get(5, TimeUnit.SECONDS).size());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(restTemplate, times(1))
+                .exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class);
+    }
+
+    public ResponseEntity<EmployeeRosterResponse> getMockedResponseEntity(List<EmployeeModel> employeeModelList){
+
+        EmployeeRosterResponse employeeRosterResponse = new EmployeeRosterResponse();
+        employeeRosterResponse.setData(employeeModelList.stream()
+                .map(EmployeeModel::convertEmployeeModelToEmployee)
+                .collect(Collectors.toList()));
+        return new ResponseEntity<>(employeeRosterResponse,HttpStatus.OK);
     }
     @Test
     public void filterEmpNameFromSearchStringTest() {
         String searchString = "raj";
         List<EmployeeModel> employeeModelList = getMockListOfEmp();
-        ResponseEntity<EmployeeListResponse> mockResponseEntity = getMockedResponseEntity(employeeModelList);
+        ResponseEntity<EmployeeRosterResponse> mockResponseEntity = getMockedResponseEntity(employeeModelList);
         List<Employee> employeeList = employeeModelList.stream()
                 .map(EmployeeModel::convertEmployeeModelToEmployee)
                 .collect(Collectors.toList());
@@ -152,7 +1190,7 @@ class RqChallengeApplicationTests {
                 .collect(Collectors.toList());
 
         // Mock response for external API call
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenReturn(mockResponseEntity);
 
         List<Employee> actualResponse = employeeService.filterEmpNameFromSearchString(searchString);
@@ -161,15 +1199,28 @@ class RqChallengeApplicationTests {
         assertEquals(filterListMockResponse.size(), actualResponse.size());
     }
 
+    @Test
+    public void filterEmpNameFromSearchStringTest_ignoresCaseAndAccents() {
+        List<EmployeeModel> employeeModelList = new ArrayList<>(getMockListOfEmp());
+        employeeModelList.add(new EmployeeModel(14,"Jos\u00e9 Ram\u00edrez",5100,34,""));
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
+                .thenReturn(getMockedResponseEntity(employeeModelList));
+
+        assertEquals(1, employeeService.filterEmpNameFromSearchString("RAMIREZ").size());
+        assertEquals(1, employeeService.filterEmpNameFromSearchString("jos\u00c9").size());
+        assertEquals(2, employeeService.filterEmpNameFromSearchString("SHIV").size());
+        assertEquals(0, employeeService.filterEmpNameFromSearchString("xyz").size());
+    }
+
     @Test
     public void filterEmpNameFromSearchStringTest_emptyResponse() {
 
         String searchString = "raj";
         // Mock empty response from restTemplate
-        EmployeeListResponse mockResponse = new EmployeeListResponse();
+        EmployeeRosterResponse mockResponse = new EmployeeRosterResponse();
         mockResponse.setData(Collections.emptyList());
-        ResponseEntity<EmployeeListResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        ResponseEntity<EmployeeRosterResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenReturn(mockResponseEntity);
 
         // Call the and expect EmployeeDataNotFoundException
@@ -184,7 +1235,7 @@ class RqChallengeApplicationTests {
     @Test
     public void filterEmpNameFromSearchStringTest_GenericException() {
 
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenThrow(new RuntimeException("unknown Exception"));
 
         // Call method and assert
@@ -195,7 +1246,7 @@ class RqChallengeApplicationTests {
     public void getHighestSalaryOfEmployeesTest() {
 
         List<EmployeeModel> employeeModelList = getMockListOfEmp();
-        ResponseEntity<EmployeeListResponse> mockResponseEntity = getMockedResponseEntity(employeeModelList);
+        ResponseEntity<EmployeeRosterResponse> mockResponseEntity = getMockedResponseEntity(employeeModelList);
         List<Employee> employeeList = employeeModelList.stream()
                 .map(EmployeeModel::convertEmployeeModelToEmployee)
                 .collect(Collectors.toList());
@@ -203,7 +1254,7 @@ class RqChallengeApplicationTests {
         Integer mockHighestSal = employeeList.stream().mapToInt(Employee::getSalary).max().getAsInt();
 
         // Mock response for external API call
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenReturn(mockResponseEntity);
 
         Integer actualHighestSal = employeeService.getHighestSalaryOfEmployees();
@@ -216,10 +1267,10 @@ class RqChallengeApplicationTests {
     public void getHighestSalaryOfEmployeesTest_emptyResponse() {
 
         // Mock empty response from restTemplate
-        EmployeeListResponse mockResponse = new EmployeeListResponse();
+        EmployeeRosterResponse mockResponse = new EmployeeRosterResponse();
         mockResponse.setData(Collections.emptyList());
-        ResponseEntity<EmployeeListResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        ResponseEntity<EmployeeRosterResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenReturn(mockResponseEntity);
 
         // Call the method under test and expect EmployeeDataNotFoundException
@@ -234,7 +1285,7 @@ class RqChallengeApplicationTests {
     @Test
     public void getHighestSalaryOfEmployeesTest_GenericException() {
 
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenThrow(new RuntimeException("unknown Exception"));
 
         // Call method and assert
@@ -245,7 +1296,7 @@ class RqChallengeApplicationTests {
     public void getTopTenHighestEarningEmployeeNamesTest() {
 
         List<EmployeeModel> employeeModelList = getMockListOfEmp();
-        ResponseEntity<EmployeeListResponse> mockResponseEntity = getMockedResponseEntity(employeeModelList);
+        ResponseEntity<EmployeeRosterResponse> mockResponseEntity = getMockedResponseEntity(employeeModelList);
         List<Employee> employeeList = employeeModelList.stream()
                 .map(EmployeeModel::convertEmployeeModelToEmployee)
                 .collect(Collectors.toList());
@@ -258,7 +1309,7 @@ class RqChallengeApplicationTests {
                 .collect(Collectors.toList());
 
         // Mock response for external API call
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenReturn(mockResponseEntity);
         List<String> actualEmpNameList = employeeService.getTopTenHighestEarningEmployeeNames();
 
@@ -270,11 +1321,11 @@ class RqChallengeApplicationTests {
     public void getTopTenHighestEarningEmployeeNamesTest_emptyResponse() {
 
         // Mock empty response from restTemplate
-        EmployeeListResponse mockResponse = new EmployeeListResponse();
+        EmployeeRosterResponse mockResponse = new EmployeeRosterResponse();
         mockResponse.setData(Collections.emptyList());
-        ResponseEntity<EmployeeListResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
+        ResponseEntity<EmployeeRosterResponse> mockResponseEntity = ResponseEntity.ok(mockResponse);
 
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenReturn(mockResponseEntity);
 
         // Call the method under test and expect EmployeeDataNotFoundException
@@ -288,7 +1339,7 @@ class RqChallengeApplicationTests {
     @Test
     public void getTopTenHighestEarningEmployeeNamesTest_GenericException() {
 
-        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeListResponse.class))
+        when(restTemplate.exchange(BASE_URL+FETCH_ALL_EMPLOYEES, HttpMethod.GET,getEntity(),EmployeeRosterResponse.class))
                 .thenThrow(new RuntimeException("unknown Exception"));
 
         // Call method and assert